@@ -0,0 +1,103 @@
+package ru.practicum.shareit.benchmarks;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class GatewayLoadTest {
+    private static final String PASSTHROUGH = "-passthrough";
+
+    private final String gatewayJar = System.getProperty("gateway.jar",
+            "../gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar");
+    private final List<String> modes = List.of(System.getProperty("load.modes",
+            "blocking,blocking-passthrough,reactive,reactive-passthrough,virtual")
+                                                     .split(","));
+    private final int tomcatThreads = Integer.getInteger("load.tomcatThreads", 200);
+    private final Duration backendDelay = Duration.ofMillis(Long.getLong("load.backendDelayMs", 200));
+    private final int payloadBookings = Integer.getInteger("load.payloadBookings", 100);
+    private final AtomicInteger backendInFlight = new AtomicInteger();
+    private final AtomicInteger backendPeak = new AtomicInteger();
+    private final LoadDriver driver = new LoadDriver();
+
+    public static void main(String[] args) throws Exception {
+        new GatewayLoadTest().run();
+    }
+
+    private void run() throws Exception {
+        DisposableServer backend = startBackend();
+        System.out.printf("concurrency=%d requests=%d tomcatThreads=%d backendDelay=%dms payloadBookings=%d%n",
+                driver.getConcurrency(), driver.getRequests(), tomcatThreads, backendDelay.toMillis(),
+                payloadBookings);
+        try {
+            for (String mode : modes) {
+                try (LoadDriver.App gateway = driver.start(gatewayJar, arguments(mode, backend.port()))) {
+                    backendPeak.set(0);
+                    LoadDriver.Result result = driver.run(gateway, i -> "/bookings", "1");
+                    System.out.printf("%-20s %s backendPeakInFlight=%d pinnedThreadEvents=%d%n", mode,
+                            result.summary(), backendPeak.get(), gateway.pinnedThreadEvents());
+                } catch (IllegalStateException e) {
+                    System.out.printf("%-20s skipped: %s%n", mode, e.getMessage());
+                }
+            }
+        } finally {
+            backend.disposeNow();
+        }
+    }
+
+    private List<String> arguments(String mode, int backendPort) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.tomcat.threads.max=" + tomcatThreads,
+                "--server.tomcat.max-connections=" + driver.getConcurrency() * 2,
+                "--shareit-server.url=http://localhost:" + backendPort,
+                "--shareit-server.http-client.max-total=" + driver.getConcurrency(),
+                "--shareit-server.http-client.max-per-route=" + driver.getConcurrency(),
+                "--shareit-server.http-client.pool-acquire-timeout=60s",
+                "--shareit-server.http-client.read-timeout=60s",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN"));
+        boolean passthrough = mode.endsWith(PASSTHROUGH);
+        String transport = passthrough ? mode.substring(0, mode.length() - PASSTHROUGH.length()) : mode;
+        arguments.add("--shareit-server.passthrough=" + passthrough);
+        if (transport.equals("virtual")) {
+            arguments.add("--shareit-server.transport=blocking");
+            arguments.add("--spring.profiles.active=virtual-threads");
+        } else {
+            arguments.add("--shareit-server.transport=" + transport);
+        }
+        return arguments;
+    }
+
+    private DisposableServer startBackend() {
+        String json = bookingsJson();
+        return HttpServer.create()
+                         .port(0)
+                         .route(routes -> routes.get("/bookings", (request, response) -> {
+                             int inFlight = backendInFlight.incrementAndGet();
+                             backendPeak.accumulateAndGet(inFlight, Math::max);
+                             return response.header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                                            .sendString(Mono.delay(backendDelay)
+                                                            .doFinally(signal -> backendInFlight.decrementAndGet())
+                                                            .thenReturn(json));
+                         }))
+                         .bindNow();
+    }
+
+    private String bookingsJson() {
+        StringJoiner bookings = new StringJoiner(",", "[", "]");
+        for (int i = 1; i <= payloadBookings; i++) {
+            bookings.add(String.format("{\"id\":%d,\"start\":\"2030-01-01T10:00:00\",\"end\":\"2030-01-02T10:00:00\"," +
+                    "\"item\":{\"id\":%d,\"name\":\"item%d\",\"description\":\"description of item %d\"," +
+                    "\"available\":true,\"ownerId\":1,\"itemRequest\":null}," +
+                    "\"booker\":{\"id\":2,\"name\":\"booker\",\"email\":\"booker@mail.ru\"}," +
+                    "\"status\":\"APPROVED\"}", i, i, i, i));
+        }
+        return bookings.toString();
+    }
+}
@@ -0,0 +1,205 @@
+package ru.practicum.shareit.benchmarks;
+
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+public class LoadDriver {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final String PINNED_MARKER = "<== monitors";
+    private static final String ALLOCATED_METRIC = "/actuator/metrics/jvm.gc.memory.allocated";
+    private static final Pattern METRIC_VALUE = Pattern.compile("\"value\":([0-9.E+]+)");
+
+    private final String java = System.getProperty("load.java",
+            ProcessHandle.current().info().command().orElse("java"));
+    private final int concurrency = Integer.getInteger("load.concurrency", 2000);
+    private final int requests = Integer.getInteger("load.requests", 20000);
+    private final HttpClient client;
+
+    public LoadDriver() {
+        client = HttpClient.create(ConnectionProvider.builder("load")
+                                                     .maxConnections(concurrency)
+                                                     .pendingAcquireMaxCount(-1)
+                                                     .build())
+                           .responseTimeout(Duration.ofSeconds(60));
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getRequests() {
+        return requests;
+    }
+
+    public App start(String jar, List<String> arguments) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(java, "-Djdk.tracePinnedThreads=short", "-jar", jar,
+                "--server.port=" + port, "--logging.level.root=WARN"));
+        command.addAll(arguments);
+        Path log = Files.createTempFile("shareit-load", ".log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        App app = new App(process, port, log);
+        try {
+            awaitStarted(app);
+        } catch (RuntimeException | InterruptedException e) {
+            app.close();
+            throw e;
+        }
+        return app;
+    }
+
+    public Result run(App app, IntFunction<String> uri, String userId) {
+        load(app, uri, userId, concurrency);
+        Duration cpuBefore = app.cpuTime();
+        double allocatedBefore = allocatedBytes(app);
+        long startedAt = System.nanoTime();
+        Result result = load(app, uri, userId, requests);
+        result.seconds = (System.nanoTime() - startedAt) / 1e9;
+        result.cpu = app.cpuTime().minus(cpuBefore);
+        double allocatedAfter = allocatedBytes(app);
+        if (allocatedBefore >= 0 && allocatedAfter >= 0) {
+            result.allocated = allocatedAfter - allocatedBefore;
+        }
+        return result;
+    }
+
+    private double allocatedBytes(App app) {
+        String body = client.baseUrl("http://localhost:" + app.port)
+                            .get()
+                            .uri(ALLOCATED_METRIC)
+                            .responseSingle((response, content) -> content.asString().defaultIfEmpty(""))
+                            .onErrorReturn("")
+                            .block();
+        Matcher matcher = METRIC_VALUE.matcher(body != null ? body : "");
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) : -1;
+    }
+
+    private Result load(App app, IntFunction<String> uri, String userId, int count) {
+        HttpClient appClient = client.baseUrl("http://localhost:" + app.port)
+                                     .headers(headers -> {
+                                         if (userId != null) {
+                                             headers.set("X-Sharer-User-Id", userId);
+                                         }
+                                     });
+        Result result = new Result(count);
+        Flux.range(0, count)
+            .flatMap(i -> {
+                long startedAt = System.nanoTime();
+                return appClient.get()
+                                .uri(uri.apply(i))
+                                .responseSingle((response, body) -> body.asString()
+                                                                        .defaultIfEmpty("")
+                                                                        .thenReturn(response.status().code()))
+                                .onErrorReturn(-1)
+                                .doOnNext(status -> {
+                                    result.latencies[i] = System.nanoTime() - startedAt;
+                                    if (status != 200) {
+                                        result.errors.incrementAndGet();
+                                    }
+                                });
+            }, concurrency)
+            .blockLast();
+        return result;
+    }
+
+    private void awaitStarted(App app) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!app.process.isAlive()) {
+                throw new IllegalStateException("Process exited with code " + app.process.exitValue() +
+                        ", see " + app.log);
+            }
+            try (Socket socket = new Socket("localhost", app.port)) {
+                return;
+            } catch (IOException e) {
+                Thread.sleep(500);
+            }
+        }
+        throw new IllegalStateException("Process did not start within " + STARTUP_TIMEOUT + ", see " + app.log);
+    }
+
+    public static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    public static class App implements AutoCloseable {
+        private final Process process;
+        private final int port;
+        private final Path log;
+
+        private App(Process process, int port, Path log) {
+            this.process = process;
+            this.port = port;
+            this.log = log;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public Duration cpuTime() {
+            return process.toHandle().info().totalCpuDuration().orElse(Duration.ZERO);
+        }
+
+        public long pinnedThreadEvents() throws IOException {
+            try (Stream<String> lines = Files.lines(log)) {
+                return lines.filter(line -> line.contains(PINNED_MARKER)).count();
+            }
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            process.destroy();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    public static class Result {
+        private final long[] latencies;
+        private final AtomicInteger errors = new AtomicInteger();
+        private double seconds;
+        private Duration cpu;
+        private double allocated = -1;
+
+        private Result(int count) {
+            latencies = new long[count];
+        }
+
+        public String summary() {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return String.format("throughput=%.0f req/s p50=%dms p99=%dms max=%dms cpu=%dus/req alloc=%s errors=%d",
+                    sorted.length / seconds, percentile(sorted, 0.5), percentile(sorted, 0.99),
+                    TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length - 1]),
+                    TimeUnit.NANOSECONDS.toMicros(cpu.toNanos() / sorted.length),
+                    allocated < 0 ? "n/a" : String.format("%.0fKB/req", allocated / sorted.length / 1024),
+                    errors.get());
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            return TimeUnit.NANOSECONDS.toMillis(sorted[(int) Math.ceil(percentile * sorted.length) - 1]);
+        }
+    }
+}
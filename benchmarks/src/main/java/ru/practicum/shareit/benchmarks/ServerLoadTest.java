@@ -0,0 +1,81 @@
+package ru.practicum.shareit.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ServerLoadTest {
+    private static final int ITEMS = 20;
+
+    private final String serverJar = System.getProperty("server.jar",
+            "../server/target/shareit-server-0.0.1-SNAPSHOT-exec.jar");
+    private final List<String> modes = List.of(System.getProperty("load.modes", "platform,virtual").split(","));
+    private final int tomcatThreads = Integer.getInteger("load.tomcatThreads", 200);
+    private final int dbPoolSize = Integer.getInteger("load.dbPoolSize", 40);
+    private final LoadDriver driver = new LoadDriver();
+
+    public static void main(String[] args) throws Exception {
+        new ServerLoadTest().run();
+    }
+
+    private void run() throws Exception {
+        System.out.printf("concurrency=%d requests=%d tomcatThreads=%d dbPoolSize=%d%n",
+                driver.getConcurrency(), driver.getRequests(), tomcatThreads, dbPoolSize);
+        for (String mode : modes) {
+            try (LoadDriver.App server = driver.start(serverJar, arguments(mode))) {
+                seed(server.getPort());
+                LoadDriver.Result result = driver.run(server, i -> "/items?from=0&size=" + ITEMS, "1");
+                System.out.printf("%-8s %s pinnedThreadEvents=%d%n", mode, result.summary(),
+                        server.pinnedThreadEvents());
+            } catch (IllegalStateException e) {
+                System.out.printf("%-8s skipped: %s%n", mode, e.getMessage());
+            }
+        }
+    }
+
+    private List<String> arguments(String mode) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:shareit-load;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.sql.init.platform=h2",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--server.tomcat.threads.max=" + tomcatThreads,
+                "--server.tomcat.max-connections=" + driver.getConcurrency() * 2,
+                "--spring.datasource.hikari.maximum-pool-size=" + dbPoolSize,
+                "--spring.datasource.hikari.minimum-idle=" + dbPoolSize,
+                "--spring.datasource.hikari.connection-timeout=60000"));
+        if (mode.equals("virtual")) {
+            arguments.add("--spring.profiles.active=virtual-threads");
+        }
+        return arguments;
+    }
+
+    private void seed(int port) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        post(client, port, "/users", null, "{\"name\":\"owner\",\"email\":\"owner@mail.ru\"}");
+        for (int i = 1; i <= ITEMS; i++) {
+            post(client, port, "/items", "1", String.format("{\"name\":\"item%d\",\"description\":\"item %d\"," +
+                    "\"available\":true}", i, i));
+        }
+    }
+
+    private void post(HttpClient client, int port, String path, String userId, String json)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                                                 .header("Content-Type", "application/json")
+                                                 .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (userId != null) {
+            request.header("X-Sharer-User-Id", userId);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seeding " + path + " failed: " + response.body());
+        }
+    }
+}
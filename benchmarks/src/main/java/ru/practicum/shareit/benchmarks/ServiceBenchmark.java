@@ -0,0 +1,45 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.BookingDto;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemDtoInfo;
+import ru.practicum.shareit.request.ItemRequestResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Benchmark
+    public List<BookingDto> getAllByOwnerId(ShareItState state) {
+        return state.bookingService.getAllByOwnerId(ShareItState.OWNER_ID, "ALL", 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDtoInfo> getAllItems(ShareItState state) {
+        return state.itemService.getAllItems(ShareItState.OWNER_ID, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItem(ShareItState state) {
+        return state.itemService.searchItem("item" + ShareItState.USERS, ShareItState.OWNER_ID, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemRequestResponse> getAllByOtherUsers(ShareItState state) {
+        return state.itemRequestService.getAllByOtherUsers(ShareItState.OWNER_ID, 0, PAGE_SIZE);
+    }
+}
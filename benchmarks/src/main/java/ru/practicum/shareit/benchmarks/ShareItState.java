@@ -0,0 +1,103 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.request.ItemRequestService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class ShareItState {
+    public static final int USERS = 100;
+    public static final int BOOKINGS_PER_ITEM = 5;
+    public static final int ITEMS_PER_REQUEST = 10;
+    public static final int OWNER_ID = 1;
+
+    @Param({"1000", "10000", "100000"})
+    public int items;
+
+    public BookingService bookingService;
+    public ItemService itemService;
+    public ItemRequestService itemRequestService;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:shareit-" + items + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driverClassName=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.sql.init.platform=h2",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--logging.level.root=WARN");
+        seed(context.getBean(JdbcTemplate.class));
+        bookingService = context.getBean(BookingService.class);
+        itemService = context.getBean(ItemService.class);
+        itemRequestService = context.getBean(ItemRequestService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 1; i <= USERS; i++) {
+            users.add(new Object[]{i, "user" + i, "user" + i + "@mail.ru"});
+        }
+        jdbcTemplate.batchUpdate("insert into users (id, name, email) values (?, ?, ?)", users);
+
+        List<Object[]> requests = new ArrayList<>();
+        for (int i = 1; i <= items / ITEMS_PER_REQUEST; i++) {
+            requests.add(new Object[]{i, "request" + i, userId(i), Timestamp.valueOf(now.minusMinutes(i))});
+        }
+        jdbcTemplate.batchUpdate("insert into requests (id, description, requester_id, created) values (?, ?, ?, ?)",
+                requests);
+
+        List<Object[]> itemRows = new ArrayList<>();
+        for (int i = 1; i <= items; i++) {
+            Integer requestId = i % 2 == 0 ? (i - 1) / ITEMS_PER_REQUEST + 1 : null;
+            itemRows.add(new Object[]{i, "item" + i, "description of item " + i, i % 4 != 0, userId(i), requestId});
+        }
+        jdbcTemplate.batchUpdate("insert into items (id, name, description, available, owner_id, request_id) " +
+                "values (?, ?, ?, ?, ?, ?)", itemRows);
+
+        BookingStatus[] statuses = {BookingStatus.APPROVED, BookingStatus.WAITING, BookingStatus.REJECTED};
+        List<Object[]> bookings = new ArrayList<>();
+        for (int i = 1; i <= items; i++) {
+            for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                LocalDateTime start = now.plusDays(j * 2L - BOOKINGS_PER_ITEM).plusMinutes(i);
+                bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1)), i,
+                        userId(i + j + 1), statuses[j % statuses.length].name()});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.execute("alter table users alter column id restart with " + (USERS + 1));
+        jdbcTemplate.execute("alter table items alter column id restart with " + (items + 1));
+        jdbcTemplate.execute("alter table requests alter column id restart with " + (items / ITEMS_PER_REQUEST + 1));
+    }
+
+    private int userId(int i) {
+        return i % USERS + 1;
+    }
+}
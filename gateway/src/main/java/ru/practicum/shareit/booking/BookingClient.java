@@ -1,16 +1,17 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -18,16 +19,15 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ServerTransport transport, ResponseCache responseCache) {
+        super(transport, API_PREFIX, responseCache);
     }
 
-    public ResponseEntity<Object> getBookings(Integer userId, BookingState state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getBookings(Integer userId, BookingState state, Integer from, Integer size,
+                                                    String cursor) {
+        if (cursor != null) {
+            return get("?state={state}&size={size}&cursor={cursor}", userId, cursorParameters(state, size, cursor));
+        }
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -37,19 +37,28 @@ public class BookingClient extends BaseClient {
     }
 
 
-    public ResponseEntity<Object> bookItem(Integer userId, BookItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> bookItem(Integer userId, BookItemRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getBooking(Integer userId, Integer bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(Integer userId, Integer bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> confirmation(Integer bookingId, Integer userId, boolean approved) {
+    public Mono<ResponseEntity<Object>> confirmation(Integer bookingId, Integer userId, boolean approved) {
         return patch("/" + bookingId + "?approved=" + approved, userId);
     }
 
-    public ResponseEntity<Object> getAllByOwnerId(Integer ownerId, BookingState state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> confirmAll(List<Integer> bookingIds, Integer userId, boolean approved) {
+        return patch("/batch?approved=" + approved, userId, bookingIds);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllByOwnerId(Integer ownerId, BookingState state, Integer from, Integer size,
+                                                        String cursor) {
+        if (cursor != null) {
+            return get("/owner?state={state}&size={size}&cursor={cursor}", ownerId,
+                    cursorParameters(state, size, cursor));
+        }
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -57,4 +66,21 @@ public class BookingClient extends BaseClient {
         );
         return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
     }
+
+    public Mono<ResponseEntity<Object>> getAvailability(Integer itemId, LocalDateTime start, LocalDateTime end) {
+        Map<String, Object> parameters = Map.of(
+                "itemId", itemId,
+                "start", start,
+                "end", end
+        );
+        return get("/availability?itemId={itemId}&start={start}&end={end}", null, parameters);
+    }
+
+    private Map<String, Object> cursorParameters(BookingState state, Integer size, String cursor) {
+        return Map.of(
+                "state", state.name(),
+                "size", size,
+                "cursor", cursor
+        );
+    }
 }
@@ -2,15 +2,22 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.markers.Update;
 
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -22,46 +29,67 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping("{bookingId}")
-    public ResponseEntity<Object> getBooking(@PathVariable Integer bookingId,
-                                             @RequestHeader(X_SHARER_USER_ID) Integer userId) {
+    public Mono<ResponseEntity<Object>> getBooking(@PathVariable Integer bookingId,
+                                                   @RequestHeader(X_SHARER_USER_ID) Integer userId) {
         log.info("getBooking {}, userId={}", bookingId, userId);
         return bookingClient.getBooking(bookingId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestParam(defaultValue = "ALL", required = false) String state,
-                                              @RequestHeader(X_SHARER_USER_ID) Integer bookerId,
-                                              @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getBookings(@RequestParam(defaultValue = "ALL", required = false) String state,
+                                                    @RequestHeader(X_SHARER_USER_ID) Integer bookerId,
+                                                    @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                    @Positive @RequestParam(defaultValue = "10") Integer size,
+                                                    @RequestParam(required = false) String cursor) {
         BookingState bookingState = BookingState.from(state).orElseThrow(
                 () -> new IllegalArgumentException("Unknown state: " + state));
-        log.info("getBookings {}, bookingState={}, from={}, size={}", bookerId, bookingState, from, size);
-        return bookingClient.getBookings(bookerId, bookingState, from, size);
+        log.info("getBookings {}, bookingState={}, from={}, size={}, cursor={}", bookerId, bookingState, from, size,
+                cursor);
+        return bookingClient.getBookings(bookerId, bookingState, from, size, cursor);
+    }
+
+    @GetMapping("/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@RequestParam Integer itemId,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        log.info("getAvailability {}, start={}, end={}", itemId, start, end);
+        return bookingClient.getAvailability(itemId, start, end);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllByOwnerId(@RequestParam(defaultValue = "ALL", required = false) String state,
-                                                  @RequestHeader(X_SHARER_USER_ID) Integer userId,
-                                                  @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                                  @Positive @RequestParam(defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getAllByOwnerId(@RequestParam(defaultValue = "ALL", required = false) String state,
+                                                        @RequestHeader(X_SHARER_USER_ID) Integer userId,
+                                                        @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                        @Positive @RequestParam(defaultValue = "10") Integer size,
+                                                        @RequestParam(required = false) String cursor) {
         BookingState bookingState = BookingState.from(state).orElseThrow(
                 () -> new IllegalArgumentException("Unknown state: " + state));
-        log.info("getAllByOwnerId {}, bookingState={}, from={}, size={}", userId, bookingState, from, size);
-        return bookingClient.getAllByOwnerId(userId, bookingState, from, size);
+        log.info("getAllByOwnerId {}, bookingState={}, from={}, size={}, cursor={}", userId, bookingState, from, size,
+                cursor);
+        return bookingClient.getAllByOwnerId(userId, bookingState, from, size, cursor);
     }
 
     @PostMapping
-    public ResponseEntity<Object> bookItem(@Validated(Update.class) @RequestBody BookItemRequestDto requestDto,
-                                           @RequestHeader(X_SHARER_USER_ID) Integer userId) {
+    public Mono<ResponseEntity<Object>> bookItem(@Validated(Update.class) @RequestBody BookItemRequestDto requestDto,
+                                                 @RequestHeader(X_SHARER_USER_ID) Integer userId) {
         log.info("bookItem {}, requestDto={}", userId, requestDto);
         return bookingClient.bookItem(userId, requestDto);
     }
 
     @PatchMapping("{bookingId}")
-    public ResponseEntity<Object> confirmation(@PathVariable Integer bookingId,
-                                               @RequestHeader(X_SHARER_USER_ID) Integer userId,
-                                               @RequestParam Boolean approved) {
+    public Mono<ResponseEntity<Object>> confirmation(@PathVariable Integer bookingId,
+                                                     @RequestHeader(X_SHARER_USER_ID) Integer userId,
+                                                     @RequestParam Boolean approved) {
         log.info("confirmation {}, userId={}, approved={}", bookingId, userId, approved);
         return bookingClient.confirmation(bookingId, userId, approved);
     }
+
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> confirmAll(@RequestBody @NotEmpty @Size(max = 100)
+                                                   List<@NotNull Integer> bookingIds,
+                                                   @RequestHeader(X_SHARER_USER_ID) Integer userId,
+                                                   @RequestParam Boolean approved) {
+        log.info("confirmAll {}, userId={}, approved={}", bookingIds, userId, approved);
+        return bookingClient.confirmAll(bookingIds, userId, approved);
+    }
 }
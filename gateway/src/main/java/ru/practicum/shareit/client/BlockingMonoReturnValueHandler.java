@@ -0,0 +1,61 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Type;
+
+public class BlockingMonoReturnValueHandler implements HandlerMethodReturnValueHandler {
+    private final HandlerMethodReturnValueHandler entityHandler;
+
+    public BlockingMonoReturnValueHandler(HandlerMethodReturnValueHandler entityHandler) {
+        this.entityHandler = entityHandler;
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return Mono.class.isAssignableFrom(returnType.getParameterType())
+                && entityHandler.supportsReturnType(new MonoValueParameter(returnType));
+    }
+
+    @Override
+    public void handleReturnValue(@Nullable Object returnValue, MethodParameter returnType,
+                                  ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+        Object entity = returnValue == null ? null : ((Mono<?>) returnValue).block();
+        entityHandler.handleReturnValue(entity, new MonoValueParameter(returnType), mavContainer, webRequest);
+    }
+
+    private static class MonoValueParameter extends MethodParameter {
+        private final ResolvableType valueType;
+
+        MonoValueParameter(MethodParameter monoParameter) {
+            super(monoParameter);
+            this.valueType = ResolvableType.forMethodParameter(monoParameter).getGeneric();
+        }
+
+        private MonoValueParameter(MonoValueParameter original) {
+            super(original);
+            this.valueType = original.valueType;
+        }
+
+        @Override
+        public Class<?> getParameterType() {
+            return valueType.toClass();
+        }
+
+        @Override
+        public Type getGenericParameterType() {
+            return valueType.getType();
+        }
+
+        @Override
+        public MonoValueParameter clone() {
+            return new MonoValueParameter(this);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.transport", havingValue = "blocking", matchIfMissing = true)
+public class BlockingResponseConfig {
+    @Bean
+    public static BeanPostProcessor blockingMonoReturnValueHandlerRegistrar() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RequestMappingHandlerAdapter) {
+                    registerFirst((RequestMappingHandlerAdapter) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static void registerFirst(RequestMappingHandlerAdapter adapter) {
+        List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(adapter.getReturnValueHandlers());
+        HandlerMethodReturnValueHandler entityHandler = handlers.stream()
+                                                               .filter(HttpEntityMethodProcessor.class::isInstance)
+                                                               .findFirst()
+                                                               .orElseThrow(() -> new IllegalStateException(
+                                                                       "Не найден обработчик ResponseEntity"));
+        handlers.add(0, new BlockingMonoReturnValueHandler(entityHandler));
+        adapter.setReturnValueHandlers(handlers);
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.transport", havingValue = "reactive")
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class ReactiveClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareitServerConnectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder(POOL_NAME)
+                                 .maxConnections(properties.getMaxTotal())
+                                 .pendingAcquireMaxCount(properties.getMaxPendingAcquires())
+                                 .pendingAcquireTimeout(properties.getPoolAcquireTimeout())
+                                 .maxIdleTime(properties.getMaxIdleTime())
+                                 .maxLifeTime(properties.getTimeToLive())
+                                 .evictInBackground(properties.getMaxIdleTime())
+                                 .metrics(true)
+                                 .build();
+    }
+
+    @Bean
+    public ServerTransport shareitServerTransport(@Value("${shareit-server.url}") String serverUrl,
+                                                  @Value("${shareit-server.passthrough:false}") boolean passthrough,
+                                                  WebClient.Builder builder,
+                                                  ConnectionProvider shareitServerConnectionProvider,
+                                                  HttpClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(shareitServerConnectionProvider)
+                                          .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                                                  (int) properties.getConnectTimeout().toMillis())
+                                          .responseTimeout(properties.getReadTimeout());
+        return new WebClientServerTransport(
+                builder
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl))
+                        .clientConnector(new ReactorClientHttpConnector(httpClient))
+                        .build(),
+                passthrough
+        );
+    }
+}
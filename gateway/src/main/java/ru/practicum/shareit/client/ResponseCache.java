@@ -0,0 +1,160 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+public class ResponseCache implements MeterBinder {
+    private static final String CACHE_NAME = "gateway-responses";
+
+    private final boolean enabled;
+    private final Cache<Key, ResponseEntity<Object>> cache;
+    private final ConcurrentMap<String, Resource> resources = new ConcurrentHashMap<>();
+
+    public ResponseCache(ResponseCacheProperties properties) {
+        this(properties, ForkJoinPool.commonPool());
+    }
+
+    ResponseCache(ResponseCacheProperties properties, Executor executor) {
+        enabled = properties.isEnabled();
+        cache = Caffeine.newBuilder()
+                        .maximumSize(properties.getMaxSize())
+                        .expireAfterWrite(properties.getTtl())
+                        .executor(executor)
+                        .removalListener(this::onRemoval)
+                        .recordStats()
+                        .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Nullable
+    public ResponseEntity<Object> get(Key key) {
+        return enabled ? cache.getIfPresent(key) : null;
+    }
+
+    public long acquire(Key key) {
+        long[] generation = new long[1];
+        resources.compute(key.getResource(), (path, resource) -> {
+            Resource current = resource != null ? resource : new Resource();
+            current.pending++;
+            generation[0] = current.generation;
+            return current;
+        });
+        return generation[0];
+    }
+
+    public void put(Key key, ResponseEntity<Object> response, long expectedGeneration) {
+        if (!enabled || !response.getStatusCode().is2xxSuccessful()) {
+            return;
+        }
+        resources.computeIfPresent(key.getResource(), (path, resource) -> {
+            if (resource.generation == expectedGeneration) {
+                cache.put(key, response);
+                resource.keys.add(key);
+            }
+            return resource;
+        });
+    }
+
+    public void release(Key key) {
+        resources.computeIfPresent(key.getResource(), (path, resource) -> {
+            resource.pending--;
+            return resource.isUnused() ? null : resource;
+        });
+    }
+
+    public void invalidate(String path) {
+        if (enabled) {
+            resources.computeIfPresent(resourceOf(path), (resourcePath, resource) -> {
+                resource.generation++;
+                cache.invalidateAll(resource.keys);
+                resource.keys.clear();
+                return resource.isUnused() ? null : resource;
+            });
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+             .tag("cache", CACHE_NAME)
+             .description("Доля GET-запросов, обслуженных из кеша шлюза")
+             .register(registry);
+    }
+
+    private void onRemoval(@Nullable Key key, @Nullable ResponseEntity<Object> response, RemovalCause cause) {
+        if (key == null || !cause.wasEvicted()) {
+            return;
+        }
+        resources.computeIfPresent(key.getResource(), (path, resource) -> {
+            if (!cache.asMap().containsKey(key)) {
+                resource.keys.remove(key);
+            }
+            return resource.isUnused() ? null : resource;
+        });
+    }
+
+    boolean isTracked(String resource) {
+        return resources.containsKey(resource);
+    }
+
+    static String resourceOf(String path) {
+        int query = path.indexOf('?');
+        String withoutQuery = query >= 0 ? path.substring(0, query) : path;
+        int collection = withoutQuery.indexOf('/', 1);
+        if (collection < 0) {
+            return withoutQuery;
+        }
+        int id = withoutQuery.indexOf('/', collection + 1);
+        return id < 0 ? withoutQuery : withoutQuery.substring(0, id);
+    }
+
+    private static class Resource {
+        private final Set<Key> keys = new HashSet<>();
+        private long generation;
+        private int pending;
+
+        private boolean isUnused() {
+            return keys.isEmpty() && pending == 0;
+        }
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    public static class Key {
+        private final String path;
+        @Nullable
+        private final Map<String, Object> parameters;
+        @Nullable
+        private final Integer userId;
+        @EqualsAndHashCode.Exclude
+        private final String resource;
+
+        public Key(String path, @Nullable Map<String, Object> parameters, @Nullable Integer userId) {
+            this.path = path;
+            this.parameters = parameters;
+            this.userId = userId;
+            this.resource = resourceOf(path);
+        }
+    }
+}
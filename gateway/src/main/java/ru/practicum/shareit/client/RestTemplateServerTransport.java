@@ -0,0 +1,80 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class RestTemplateServerTransport implements ServerTransport {
+    private final RestTemplate rest;
+    private final boolean passthrough;
+
+    public RestTemplateServerTransport(RestTemplate rest, boolean passthrough) {
+        this.rest = rest;
+        this.passthrough = passthrough;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+        if (passthrough) {
+            return Mono.fromCallable(() -> sendPassthrough(method, path, requestEntity, parameters));
+        }
+        return Mono.fromCallable(() -> send(method, path, requestEntity, parameters));
+    }
+
+    private ResponseEntity<Object> sendPassthrough(HttpMethod method, String path, HttpEntity<Object> requestEntity,
+                                                   @Nullable Map<String, Object> parameters) {
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getRawStatusCode())
+                                 .headers(PassthroughHeaders.of(e.getResponseHeaders()))
+                                 .body(e.getResponseBodyAsByteArray());
+        }
+        return ResponseEntity.status(shareitServerResponse.getStatusCodeValue())
+                             .headers(PassthroughHeaders.of(shareitServerResponse.getHeaders()))
+                             .body(shareitServerResponse.getBody());
+    }
+
+    private ResponseEntity<Object> send(HttpMethod method, String path, HttpEntity<Object> requestEntity,
+                                        @Nullable Map<String, Object> parameters) {
+        ResponseEntity<Object> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        }
+        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+        if (response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+
+        if (response.hasBody()) {
+            return responseBuilder.body(response.getBody());
+        }
+
+        return responseBuilder.build();
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class WebClientServerTransport implements ServerTransport {
+    private final WebClient webClient;
+    private final boolean passthrough;
+
+    public WebClientServerTransport(WebClient webClient, boolean passthrough) {
+        this.webClient = webClient;
+        this.passthrough = passthrough;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                                                     .uri(path, parameters != null ? parameters : Map.of())
+                                                     .headers(requestHeaders -> requestHeaders.addAll(headers));
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+        if (passthrough) {
+            return spec.exchangeToMono(WebClientServerTransport::passthroughResponse);
+        }
+        return spec.exchangeToMono(WebClientServerTransport::prepareGatewayResponse);
+    }
+
+    private static Mono<ResponseEntity<Object>> passthroughResponse(ClientResponse response) {
+        return response.toEntity(byte[].class)
+                       .map(entity -> ResponseEntity.status(entity.getStatusCodeValue())
+                                                    .headers(PassthroughHeaders.of(entity.getHeaders()))
+                                                    .body(entity.getBody()));
+    }
+
+    private static Mono<ResponseEntity<Object>> prepareGatewayResponse(ClientResponse response) {
+        if (response.statusCode().is2xxSuccessful()) {
+            return response.toEntity(Object.class);
+        }
+
+        return response.bodyToMono(byte[].class)
+                       .map(body -> ResponseEntity.status(response.rawStatusCode()).<Object>body(body))
+                       .defaultIfEmpty(ResponseEntity.status(response.rawStatusCode()).build());
+    }
+}
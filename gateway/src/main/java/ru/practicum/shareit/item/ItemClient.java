@@ -1,13 +1,12 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
@@ -18,16 +17,11 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ServerTransport transport, ResponseCache responseCache) {
+        super(transport, API_PREFIX, responseCache);
     }
 
-    public ResponseEntity<Object> getAll(Integer userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAll(Integer userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -35,23 +29,23 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getById(Integer userId, Integer itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getById(Integer userId, Integer itemId) {
+        return cachedGet("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> create(ItemDto itemDto, Integer userId) {
+    public Mono<ResponseEntity<Object>> create(ItemDto itemDto, Integer userId) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> edit(ItemDto itemDto, Integer userId, Integer itemId) {
+    public Mono<ResponseEntity<Object>> edit(ItemDto itemDto, Integer userId, Integer itemId) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> delete(Integer itemId) {
+    public Mono<ResponseEntity<Object>> delete(Integer itemId) {
         return delete("/" + itemId);
     }
 
-    public ResponseEntity<Object> search(String text, Integer userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> search(String text, Integer userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -60,7 +54,7 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> addComment(Integer userId, Integer itemId, CommentDto comment) {
+    public Mono<ResponseEntity<Object>> addComment(Integer userId, Integer itemId, CommentDto comment) {
         return post("/" + itemId + "/comment", userId, comment);
     }
 }
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.markers.Create;
@@ -25,51 +26,52 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAll(@RequestHeader(X_SHARER_USER_ID) Integer userId,
-                                         @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                         @Positive @RequestParam(defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getAll(@RequestHeader(X_SHARER_USER_ID) Integer userId,
+                                               @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                               @Positive @RequestParam(defaultValue = "10") Integer size) {
         log.info("getAll {}, from={}, size={}", userId, from, size);
         return itemClient.getAll(userId, from, size);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getById(@RequestHeader(X_SHARER_USER_ID) Integer userId,
-                                          @PathVariable Integer itemId) {
+    public Mono<ResponseEntity<Object>> getById(@RequestHeader(X_SHARER_USER_ID) Integer userId,
+                                                @PathVariable Integer itemId) {
         log.info("getById {}, itemId={}", userId, itemId);
         return itemClient.getById(userId, itemId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@Validated({Create.class}) @RequestBody ItemDto itemDto,
-                           @RequestHeader(X_SHARER_USER_ID) Integer userId) {
+    public Mono<ResponseEntity<Object>> create(@Validated({Create.class}) @RequestBody ItemDto itemDto,
+                                               @RequestHeader(X_SHARER_USER_ID) Integer userId) {
         log.info("create {}, userId={}", itemDto, userId);
         return itemClient.create(itemDto, userId);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> edit(@Validated({Update.class}) @RequestBody ItemDto itemDto,
-                              @RequestHeader(X_SHARER_USER_ID) Integer userId, @PathVariable Integer itemId) {
+    public Mono<ResponseEntity<Object>> edit(@Validated({Update.class}) @RequestBody ItemDto itemDto,
+                                             @RequestHeader(X_SHARER_USER_ID) Integer userId,
+                                             @PathVariable Integer itemId) {
         log.info("edit {}, userId={}, itemId={}", itemDto, userId, itemId);
         return itemClient.edit(itemDto, userId, itemId);
     }
 
     @DeleteMapping("/{itemId}")
-    public ResponseEntity<Object> delete(@PathVariable Integer itemId) {
+    public Mono<ResponseEntity<Object>> delete(@PathVariable Integer itemId) {
         log.info("delete {}", itemId);
         return itemClient.delete(itemId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestParam String text, @RequestHeader(X_SHARER_USER_ID) Integer userId,
-                                    @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                    @Positive @RequestParam(defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> search(@RequestParam String text, @RequestHeader(X_SHARER_USER_ID) Integer userId,
+                                               @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                               @Positive @RequestParam(defaultValue = "10") Integer size) {
         log.info("search {}, userId={}, from={}, size={}", text, userId, from, size);
         return itemClient.search(text, userId, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestHeader(X_SHARER_USER_ID) Integer userId,
-                                             @PathVariable Integer itemId, @Valid @NotNull @RequestBody CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> addComment(@RequestHeader(X_SHARER_USER_ID) Integer userId,
+                                                   @PathVariable Integer itemId, @Valid @NotNull @RequestBody CommentDto commentDto) {
         log.info("comment {}, itemId={}, commentDto={}", userId, itemId, commentDto);
         return itemClient.addComment(userId, itemId, commentDto);
     }
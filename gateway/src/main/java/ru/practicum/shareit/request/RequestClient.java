@@ -1,13 +1,12 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
@@ -17,24 +16,19 @@ public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public RequestClient(ServerTransport transport, ResponseCache responseCache) {
+        super(transport, API_PREFIX, responseCache);
     }
 
-    public ResponseEntity<Object> getAllByUser(Integer userId) {
+    public Mono<ResponseEntity<Object>> getAllByUser(Integer userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> create(Integer userId, ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> create(Integer userId, ItemRequestDto itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getAllOtherUser(Integer userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllOtherUser(Integer userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -42,7 +36,7 @@ public class RequestClient extends BaseClient {
         return get("/all?&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getById(Integer userId, Integer requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> getById(Integer userId, Integer requestId) {
+        return cachedGet("/" + requestId, userId);
     }
 }
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserDtoUpdate;
 
@@ -18,31 +19,31 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
+    public Mono<ResponseEntity<Object>> getAll() {
         log.info("getAll in UserController");
         return userClient.getAll();
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getById(@PathVariable Integer userId) {
+    public Mono<ResponseEntity<Object>> getById(@PathVariable Integer userId) {
         log.info("getById {}", userId);
         return userClient.getById(userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@Valid @NotNull @RequestBody UserDto user) {
+    public Mono<ResponseEntity<Object>> create(@Valid @NotNull @RequestBody UserDto user) {
         log.info("create {}", user);
         return userClient.create(user);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> edit(@Valid @NotNull @RequestBody UserDtoUpdate user, @PathVariable Integer userId) {
+    public Mono<ResponseEntity<Object>> edit(@Valid @NotNull @RequestBody UserDtoUpdate user, @PathVariable Integer userId) {
         log.info("edit {}, user {}", userId, user);
         return userClient.edit(userId, user);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> delete(@PathVariable Integer userId) {
+    public Mono<ResponseEntity<Object>> delete(@PathVariable Integer userId) {
         log.info("delete {}", userId);
         return userClient.delete(userId);
     }
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PassthroughHeadersTest {
+    @Test
+    void stripsHopByHopHeaders() {
+        HttpHeaders server = new HttpHeaders();
+        server.set(HttpHeaders.CONNECTION, "keep-alive");
+        server.set("Keep-Alive", "timeout=60");
+        server.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        server.set(HttpHeaders.UPGRADE, "h2c");
+        server.set(HttpHeaders.TE, "trailers");
+        server.set(HttpHeaders.TRAILER, "Expires");
+        server.set(HttpHeaders.PROXY_AUTHENTICATE, "Basic");
+        server.set("proxy-authorization", "Basic dXNlcjpwYXNz");
+
+        assertTrue(PassthroughHeaders.of(server).isEmpty());
+    }
+
+    @Test
+    void keepsEndToEndHeaders() {
+        HttpHeaders server = new HttpHeaders();
+        server.setContentType(MediaType.APPLICATION_JSON);
+        server.setContentLength(42);
+        server.add("X-Next-Cursor", "MjAzMC0wMS0wMVQxMDowMHwx");
+        server.add(HttpHeaders.VARY, "Origin");
+        server.add(HttpHeaders.VARY, "Accept");
+        server.set(HttpHeaders.CONNECTION, "close");
+
+        HttpHeaders headers = PassthroughHeaders.of(server);
+
+        assertEquals(MediaType.APPLICATION_JSON, headers.getContentType());
+        assertEquals(42, headers.getContentLength());
+        assertEquals("MjAzMC0wMS0wMVQxMDowMHwx", headers.getFirst("X-Next-Cursor"));
+        assertEquals(List.of("Origin", "Accept"), headers.get(HttpHeaders.VARY));
+        assertFalse(headers.containsKey(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    void acceptsMissingHeaders() {
+        assertTrue(PassthroughHeaders.of(null).isEmpty());
+    }
+}
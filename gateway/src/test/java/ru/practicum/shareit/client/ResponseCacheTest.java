@@ -0,0 +1,89 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheTest {
+    private final List<Runnable> tasks = new ArrayList<>();
+    private ResponseCacheProperties properties;
+
+    @BeforeEach
+    void init() {
+        properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+    }
+
+    @Test
+    void putAfterConcurrentInvalidateIsDropped() {
+        ResponseCache cache = new ResponseCache(properties, Runnable::run);
+        ResponseCache.Key item = new ResponseCache.Key("/items/5", null, 1);
+        ResponseCache.Key other = new ResponseCache.Key("/items/6", null, 1);
+        long itemGeneration = cache.acquire(item);
+        long otherGeneration = cache.acquire(other);
+
+        cache.invalidate("/items/5");
+        cache.put(item, ResponseEntity.ok("stale"), itemGeneration);
+        cache.put(other, ResponseEntity.ok("fresh"), otherGeneration);
+        cache.release(item);
+        cache.release(other);
+
+        assertNull(cache.get(item));
+        assertNotNull(cache.get(other));
+        assertFalse(cache.isTracked("/items/5"));
+    }
+
+    @Test
+    void nonSuccessResponsesAreNotCached() {
+        ResponseCache cache = new ResponseCache(properties, Runnable::run);
+        ResponseCache.Key key = new ResponseCache.Key("/items/5", null, 1);
+
+        long generation = cache.acquire(key);
+        cache.put(key, ResponseEntity.status(HttpStatus.NOT_FOUND).body("missing"), generation);
+        cache.release(key);
+
+        assertNull(cache.get(key));
+        assertFalse(cache.isTracked("/items/5"));
+    }
+
+    @Test
+    void evictionRemovesKeyFromResourceIndex() {
+        properties.setMaxSize(1);
+        ResponseCache cache = new ResponseCache(properties, tasks::add);
+        List<ResponseCache.Key> keys = List.of(new ResponseCache.Key("/items/1", null, 1),
+                new ResponseCache.Key("/items/2", null, 1));
+        for (ResponseCache.Key key : keys) {
+            long generation = cache.acquire(key);
+            cache.put(key, ResponseEntity.ok(key.getPath()), generation);
+            cache.release(key);
+        }
+
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+
+        int cached = 0;
+        for (ResponseCache.Key key : keys) {
+            boolean present = cache.get(key) != null;
+            assertEquals(present, cache.isTracked(key.getResource()), key.getPath());
+            cached += present ? 1 : 0;
+        }
+        assertEquals(1, cached);
+    }
+
+    @Test
+    void resourceIgnoresQueryAndSubresource() {
+        assertEquals("/items/5", ResponseCache.resourceOf("/items/5/comment"));
+        assertEquals("/items/5", ResponseCache.resourceOf("/items/5?from=0"));
+        assertEquals("/items", ResponseCache.resourceOf("/items"));
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class RestTemplateServerTransportTest {
+    private static final String SERVER_URL = "http://localhost:9090";
+    private static final byte[] ERROR_BODY = "{\"error\":\"Вещь с id = 5 не найдена\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private RestTemplate rest;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void init() {
+        rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+        server = MockRestServiceServer.bindTo(rest).build();
+    }
+
+    @Test
+    void mapsClientErrorToResponse() {
+        server.expect(requestTo(SERVER_URL + "/items/5"))
+              .andExpect(method(HttpMethod.GET))
+              .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(ERROR_BODY));
+
+        ResponseEntity<Object> response = exchange(new RestTemplateServerTransport(rest, false));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertArrayEquals(ERROR_BODY, (byte[]) response.getBody());
+        server.verify();
+    }
+
+    @Test
+    void mapsServerErrorToResponse() {
+        server.expect(requestTo(SERVER_URL + "/items/5"))
+              .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR).body(ERROR_BODY));
+
+        ResponseEntity<Object> response = exchange(new RestTemplateServerTransport(rest, false));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertArrayEquals(ERROR_BODY, (byte[]) response.getBody());
+    }
+
+    @Test
+    void returnsSuccessfulResponseAsIs() {
+        server.expect(requestTo(SERVER_URL + "/items/5"))
+              .andRespond(withSuccess("{\"id\":5}", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = exchange(new RestTemplateServerTransport(rest, false));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(5, ((Map<?, ?>) response.getBody()).get("id"));
+    }
+
+    @Test
+    void passesClientErrorThroughByteForByte() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "cursor");
+        headers.set(HttpHeaders.CONNECTION, "close");
+        server.expect(requestTo(SERVER_URL + "/items/5"))
+              .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON)
+                                                          .headers(headers)
+                                                          .body(ERROR_BODY));
+
+        ResponseEntity<Object> response = exchange(new RestTemplateServerTransport(rest, true));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertArrayEquals(ERROR_BODY, (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("cursor", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    void passesSuccessfulResponseThroughByteForByte() {
+        byte[] body = "{\"id\":5,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "cursor");
+        server.expect(requestTo(SERVER_URL + "/items/5"))
+              .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = exchange(new RestTemplateServerTransport(rest, true));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(body, (byte[]) response.getBody());
+        assertEquals("cursor", response.getHeaders().getFirst("X-Next-Cursor"));
+    }
+
+    private ResponseEntity<Object> exchange(RestTemplateServerTransport transport) {
+        return transport.exchange(HttpMethod.GET, "/items/5", new HttpHeaders(), null, null).block();
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class WebClientServerTransportTest {
+    private static final String ERROR_BODY = "{\"error\":\"Вещь с id = 5 не найдена\"}";
+
+    @Test
+    void mapsClientErrorToResponse() {
+        ResponseEntity<Object> response = exchange(new WebClientServerTransport(
+                respondWith(HttpStatus.NOT_FOUND, ERROR_BODY), false));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertArrayEquals(ERROR_BODY.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    void mapsEmptyServerErrorToResponse() {
+        ResponseEntity<Object> response = exchange(new WebClientServerTransport(
+                respondWith(HttpStatus.INTERNAL_SERVER_ERROR, null), false));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void returnsSuccessfulResponseAsIs() {
+        ResponseEntity<Object> response = exchange(new WebClientServerTransport(
+                respondWith(HttpStatus.OK, "{\"id\":5}"), false));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(5, ((Map<?, ?>) response.getBody()).get("id"));
+    }
+
+    @Test
+    void passesClientErrorThroughByteForByte() {
+        ResponseEntity<Object> response = exchange(new WebClientServerTransport(
+                respondWith(HttpStatus.NOT_FOUND, ERROR_BODY), true));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertArrayEquals(ERROR_BODY.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("cursor", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+    }
+
+    @Test
+    void passesSuccessfulResponseThroughByteForByte() {
+        String body = "{\"id\":5,\"name\":\"Дрель\"}";
+        ResponseEntity<Object> response = exchange(new WebClientServerTransport(respondWith(HttpStatus.OK, body),
+                true));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(body.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertEquals("cursor", response.getHeaders().getFirst("X-Next-Cursor"));
+    }
+
+    private WebClient respondWith(HttpStatus status, String body) {
+        return WebClient.builder()
+                        .exchangeFunction(request -> {
+                            ClientResponse.Builder response = ClientResponse.create(status)
+                                                                            .header(HttpHeaders.CONTENT_TYPE,
+                                                                                    MediaType.APPLICATION_JSON_VALUE)
+                                                                            .header("X-Next-Cursor", "cursor")
+                                                                            .header(HttpHeaders.CONNECTION,
+                                                                                    "keep-alive")
+                                                                            .header(HttpHeaders.TRANSFER_ENCODING,
+                                                                                    "chunked");
+                            return Mono.just(body != null ? response.body(body).build() : response.build());
+                        })
+                        .build();
+    }
+
+    private ResponseEntity<Object> exchange(WebClientServerTransport transport) {
+        return transport.exchange(HttpMethod.GET, "/items/5", new HttpHeaders(), null, null).block();
+    }
+}
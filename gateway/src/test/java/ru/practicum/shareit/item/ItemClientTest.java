@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ResponseCacheProperties;
+import ru.practicum.shareit.client.ServerTransport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemClientTest {
+    private final List<String> requests = new ArrayList<>();
+    private ItemClient itemClient;
+
+    @BeforeEach
+    void init() {
+        ServerTransport transport = (method, path, headers, parameters, body) -> {
+            requests.add(method + " " + path + " " + headers.getFirst("X-Sharer-User-Id"));
+            return Mono.just(ResponseEntity.ok(path));
+        };
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+        itemClient = new ItemClient(transport, new ResponseCache(properties));
+    }
+
+    @Test
+    void getByIdIsCachedPerUser() {
+        itemClient.getById(1, 5).block();
+        itemClient.getById(2, 5).block();
+        itemClient.getById(1, 5).block();
+        itemClient.getById(2, 5).block();
+
+        assertEquals(List.of("GET /items/5 1", "GET /items/5 2"), requests);
+    }
+
+    @Test
+    void commentEvictsItemForEveryUser() {
+        itemClient.getById(1, 5).block();
+        itemClient.getById(2, 5).block();
+        itemClient.getById(1, 6).block();
+
+        itemClient.addComment(1, 5, null).block();
+        itemClient.getById(1, 5).block();
+        itemClient.getById(2, 5).block();
+        itemClient.getById(1, 6).block();
+
+        assertEquals(List.of("GET /items/5 1", "GET /items/5 2", "GET /items/6 1",
+                "POST /items/5/comment 1", "GET /items/5 1", "GET /items/5 2"), requests);
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.BlockingResponseConfig;
+import ru.practicum.shareit.client.ResponseCacheConfig;
+import ru.practicum.shareit.client.ServerTransport;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ItemController.class, properties = "shareit-server.transport=reactive")
+@Import({ItemClient.class, ResponseCacheConfig.class, BlockingResponseConfig.class})
+class ItemControllerReactiveTest {
+    @MockBean
+    ServerTransport transport;
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void reactiveModeAnswersAsynchronously() throws Exception {
+        when(transport.exchange(any(), eq("/items/5"), any(), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok()
+                                                    .contentType(MediaType.APPLICATION_JSON)
+                                                    .body("{\"id\":5}".getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mockMvc.perform(get("/items/5").header("X-Sharer-User-Id", 1))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+               .andExpect(status().isOk())
+               .andExpect(content().json("{\"id\":5}"));
+    }
+
+    @Test
+    void reactiveModePassesClientErrorsThrough() throws Exception {
+        byte[] body = "{\"error\":\"Вещь с id = 5 не найдена\"}".getBytes(StandardCharsets.UTF_8);
+        when(transport.exchange(any(), eq("/items/5"), any(), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                                    .contentType(MediaType.APPLICATION_JSON)
+                                                    .body(body)));
+
+        MvcResult result = mockMvc.perform(get("/items/5").header("X-Sharer-User-Id", 1))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+               .andExpect(status().isNotFound())
+               .andExpect(content().bytes(body));
+    }
+
+    @Test
+    void reactiveModeMapsTransportFailures() throws Exception {
+        when(transport.exchange(any(), eq("/items/5"), any(), any(), any()))
+                .thenReturn(Mono.error(new ResourceAccessException("Сервер недоступен")));
+
+        MvcResult result = mockMvc.perform(get("/items/5").header("X-Sharer-User-Id", 1))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+               .andExpect(status().isInternalServerError())
+               .andExpect(content().string("Сервер недоступен"));
+    }
+}
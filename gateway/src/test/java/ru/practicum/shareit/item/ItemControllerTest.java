@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.BlockingResponseConfig;
+import ru.practicum.shareit.client.ResponseCacheConfig;
+import ru.practicum.shareit.client.ServerTransport;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ItemController.class, properties = "shareit-server.transport=blocking")
+@Import({ItemClient.class, ResponseCacheConfig.class, BlockingResponseConfig.class})
+class ItemControllerTest {
+    private static final byte[] NOT_FOUND_BODY = "{\"error\":\"Вещь с id = 5 не найдена\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @MockBean
+    ServerTransport transport;
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void blockingModeAnswersSynchronously() throws Exception {
+        when(transport.exchange(eq(HttpMethod.GET), eq("/items/5"), any(), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok()
+                                                    .contentType(MediaType.APPLICATION_JSON)
+                                                    .body("{\"id\":5}".getBytes(StandardCharsets.UTF_8))));
+
+        mockMvc.perform(get("/items/5").header("X-Sharer-User-Id", 1))
+               .andExpect(request().asyncNotStarted())
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+               .andExpect(content().json("{\"id\":5}"));
+    }
+
+    @Test
+    void blockingModePassesClientErrorsThrough() throws Exception {
+        when(transport.exchange(any(), eq("/items/5"), any(), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                                    .contentType(MediaType.APPLICATION_JSON)
+                                                    .body(NOT_FOUND_BODY)));
+
+        mockMvc.perform(get("/items/5").header("X-Sharer-User-Id", 1))
+               .andExpect(request().asyncNotStarted())
+               .andExpect(status().isNotFound())
+               .andExpect(content().bytes(NOT_FOUND_BODY));
+    }
+
+    @Test
+    void blockingModeMapsTransportFailures() throws Exception {
+        when(transport.exchange(any(), eq("/items/5"), any(), any(), any()))
+                .thenReturn(Mono.error(new ResourceAccessException("Сервер недоступен")));
+
+        mockMvc.perform(get("/items/5").header("X-Sharer-User-Id", 1))
+               .andExpect(request().asyncNotStarted())
+               .andExpect(status().isInternalServerError())
+               .andExpect(content().string("Сервер недоступен"));
+    }
+}
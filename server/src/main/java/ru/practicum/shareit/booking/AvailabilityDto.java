@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AvailabilityDto {
+    private Integer itemId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private Boolean available;
+    private LocalDateTime nextFreeStart;
+}
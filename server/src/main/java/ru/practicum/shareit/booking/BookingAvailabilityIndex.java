@@ -0,0 +1,110 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.transaction.AfterCommit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingAvailabilityIndex {
+    private static final List<BookingStatus> BLOCKING = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final int MAX_ITEMS = 10_000;
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(30);
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Integer, ItemIntervals> items = Caffeine.newBuilder()
+                                                                .maximumSize(MAX_ITEMS)
+                                                                .expireAfterAccess(IDLE_TIMEOUT)
+                                                                .build();
+
+    public boolean isFree(Integer itemId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals intervals = intervals(itemId);
+        intervals.lock.readLock().lock();
+        try {
+            return !intervals.tree.overlaps(start, end);
+        } finally {
+            intervals.lock.readLock().unlock();
+        }
+    }
+
+    public LocalDateTime nextFree(Integer itemId, LocalDateTime from, Duration duration) {
+        ItemIntervals intervals = intervals(itemId);
+        intervals.lock.readLock().lock();
+        try {
+            return intervals.tree.nextFree(from, duration);
+        } finally {
+            intervals.lock.readLock().unlock();
+        }
+    }
+
+    public void onBookingSaved(Booking booking) {
+        Integer itemId = booking.getItem().getId();
+        Integer bookingId = booking.getId();
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+        boolean blocking = BLOCKING.contains(booking.getStatus());
+        AfterCommit.run(() -> {
+            ItemIntervals intervals = intervals(itemId);
+            intervals.lock.writeLock().lock();
+            try {
+                intervals.tree.removeEndedBefore(LocalDateTime.now());
+                if (blocking && end.isAfter(LocalDateTime.now())) {
+                    intervals.tree.add(bookingId, start, end);
+                } else {
+                    intervals.tree.remove(bookingId);
+                }
+            } finally {
+                intervals.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void onItemRemoved(Integer itemId) {
+        AfterCommit.run(() -> items.invalidate(itemId));
+    }
+
+    public void onUserRemoved(Integer userId) {
+        Set<Integer> itemIds = bookingRepository.findItemIdsByParticipantAndStatusInAndEndAfter(userId, BLOCKING,
+                LocalDateTime.now());
+        AfterCommit.run(() -> {
+            items.invalidateAll(itemIds);
+            log.info("Из индекса бронирований удалены вещи пользователя с id = {}: {}", userId, itemIds.size());
+        });
+    }
+
+    private ItemIntervals intervals(Integer itemId) {
+        ItemIntervals intervals = items.get(itemId, id -> new ItemIntervals());
+        if (intervals.warmedUp) {
+            return intervals;
+        }
+        intervals.lock.writeLock().lock();
+        try {
+            if (!intervals.warmedUp) {
+                bookingRepository.findAllByItemIdAndStatusInAndEndAfter(itemId, BLOCKING, LocalDateTime.now())
+                                 .forEach(b -> intervals.tree.add(b.getId(), b.getStart(), b.getEnd()));
+                intervals.warmedUp = true;
+                log.info("Загружены бронирования вещи с id = {}: {}", itemId, intervals.tree.size());
+            }
+        } finally {
+            intervals.lock.writeLock().unlock();
+        }
+        return intervals;
+    }
+
+    private static class ItemIntervals {
+        private final IntervalTree tree = new IntervalTree();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private volatile boolean warmedUp;
+    }
+}
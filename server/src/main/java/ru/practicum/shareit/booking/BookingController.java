@@ -2,10 +2,14 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.markers.Update;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,6 +19,7 @@ import java.util.List;
 @Validated
 public class BookingController {
     private static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
     private final BookingService bookingService;
 
     @GetMapping("{bookingId}")
@@ -25,21 +30,37 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getAllByBookerId(@RequestParam(defaultValue = "ALL", required = false) String state,
-                                             @RequestHeader(X_SHARER_USER_ID) Integer bookerId,
-                                             @RequestParam(defaultValue = "0") Integer from,
-                                             @RequestParam(defaultValue = "10") Integer size) {
+    public ResponseEntity<List<BookingDto>> getAllByBookerId(@RequestParam(defaultValue = "ALL", required = false) String state,
+                                                             @RequestHeader(X_SHARER_USER_ID) Integer bookerId,
+                                                             @RequestParam(defaultValue = "0") Integer from,
+                                                             @RequestParam(defaultValue = "10") Integer size,
+                                                             @RequestParam(required = false) String cursor) {
         log.info("Вызван метод getAllByBookerId() в BookingController");
-        return bookingService.getAllByBookerId(bookerId, state, from, size);
+        if (cursor == null) {
+            return ResponseEntity.ok(bookingService.getAllByBookerId(bookerId, state, from, size));
+        }
+        return withNextCursor(bookingService.getAllByBookerIdAfterCursor(bookerId, state, cursor, size));
+    }
+
+    @GetMapping("/availability")
+    public AvailabilityDto getAvailability(@RequestParam Integer itemId,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        log.info("Вызван метод getAvailability() в BookingController");
+        return bookingService.getAvailability(itemId, start, end);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getAllByOwnerId(@RequestParam(defaultValue = "ALL", required = false) String state,
-                                            @RequestHeader(X_SHARER_USER_ID) Integer userId,
-                                            @RequestParam(defaultValue = "0") Integer from,
-                                            @RequestParam(defaultValue = "10") Integer size) {
+    public ResponseEntity<List<BookingDto>> getAllByOwnerId(@RequestParam(defaultValue = "ALL", required = false) String state,
+                                                            @RequestHeader(X_SHARER_USER_ID) Integer userId,
+                                                            @RequestParam(defaultValue = "0") Integer from,
+                                                            @RequestParam(defaultValue = "10") Integer size,
+                                                            @RequestParam(required = false) String cursor) {
         log.info("Вызван метод getAllByOwnerId() в BookingController");
-        return bookingService.getAllByOwnerId(userId, state, from, size);
+        if (cursor == null) {
+            return ResponseEntity.ok(bookingService.getAllByOwnerId(userId, state, from, size));
+        }
+        return withNextCursor(bookingService.getAllByOwnerIdAfterCursor(userId, state, cursor, size));
     }
 
     @PostMapping
@@ -56,4 +77,21 @@ public class BookingController {
         log.info("Вызван метод confirmation() в BookingController");
         return bookingService.confirmation(bookingId, userId, approved);
     }
+
+    @PatchMapping("/batch")
+    public List<BookingConfirmationDto> confirmAll(@RequestBody List<Integer> bookingIds,
+                                                   @RequestHeader(X_SHARER_USER_ID) Integer userId,
+                                                   @RequestParam Boolean approved) {
+        log.info("Вызван метод confirmAll() в BookingController");
+        return bookingService.confirmAll(bookingIds, userId, approved);
+    }
+
+    private ResponseEntity<List<BookingDto>> withNextCursor(Slice<BookingDto> bookings) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookings.hasNext()) {
+            BookingDto last = bookings.getContent().get(bookings.getNumberOfElements() - 1);
+            response.header(NEXT_CURSOR, BookingCursor.of(last).encode());
+        }
+        return response.body(bookings.getContent());
+    }
 }
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
@@ -24,4 +25,19 @@ public class BookingDto {
         this.start = start;
         this.end = end;
     }
+
+    public BookingDto(Integer id, LocalDateTime start, LocalDateTime end,
+                      Integer itemId, String itemName, String itemDescription, Boolean itemAvailable, Integer ownerId,
+                      Integer requestId, String requestDescription, LocalDateTime requestCreated,
+                      Integer requesterId, String requesterName, String requesterEmail,
+                      Integer bookerId, String bookerName, String bookerEmail, BookingStatus status) {
+        ItemRequest itemRequest = requestId == null ? null : new ItemRequest(requestId, requestDescription,
+                new User(requesterId, requesterName, requesterEmail), requestCreated);
+        this.id = id;
+        this.start = start;
+        this.end = end;
+        this.item = new Item(itemId, itemName, itemDescription, itemAvailable, ownerId, itemRequest);
+        this.booker = new User(bookerId, bookerName, bookerEmail);
+        this.status = status;
+    }
 }
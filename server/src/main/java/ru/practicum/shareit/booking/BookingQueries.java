@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingQueries {
+    List<BookingDto> findByBookerIdAndState(Integer bookerId, BookingState state, LocalDateTime now,
+                                            Pageable pageable);
+
+    List<BookingDto> findByOwnerIdAndState(Integer ownerId, BookingState state, LocalDateTime now,
+                                           Pageable pageable);
+
+    Slice<BookingDto> findSliceByBookerIdAndState(Integer bookerId, BookingState state, LocalDateTime now,
+                                                  BookingCursor after, int size);
+
+    Slice<BookingDto> findSliceByOwnerIdAndState(Integer ownerId, BookingState state, LocalDateTime now,
+                                                 BookingCursor after, int size);
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class BookingQueriesImpl implements BookingQueries {
+    private static final String SELECT = "select new ru.practicum.shareit.booking.BookingDto(" +
+            "b.id, b.start, b.end, i.id, i.name, i.description, i.available, i.ownerId, " +
+            "r.id, r.description, r.created, q.id, q.name, q.email, u.id, u.name, u.email, b.status) " +
+            "from Booking b join b.item i join b.booker u left join i.itemRequest r left join r.requester q ";
+    private static final Map<BookingState, String> STATUS_FILTERS = new EnumMap<>(Map.of(
+            BookingState.ALL, "",
+            BookingState.WAITING, "and b.status = 'WAITING' ",
+            BookingState.REJECTED, "and b.status = 'REJECTED' ",
+            BookingState.PAST, "and b.status = 'APPROVED' ",
+            BookingState.FUTURE, "",
+            BookingState.CURRENT, ""));
+    private static final String FILTERS = "and b.start > :startFrom and b.start < :startTo " +
+            "and b.end > :endFrom and b.end < :endTo " +
+            "and b.start <= :cursorStart and (b.start < :cursorStart or b.id < :cursorId) " +
+            "order by b.start desc, b.id desc";
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = BookingCursor.FIRST.getStart();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingDto> findByBookerIdAndState(Integer bookerId, BookingState state, LocalDateTime now,
+                                                   Pageable pageable) {
+        return find(Role.BOOKER, bookerId, state, now, null, pageable);
+    }
+
+    @Override
+    public List<BookingDto> findByOwnerIdAndState(Integer ownerId, BookingState state, LocalDateTime now,
+                                                  Pageable pageable) {
+        return find(Role.OWNER, ownerId, state, now, null, pageable);
+    }
+
+    @Override
+    public Slice<BookingDto> findSliceByBookerIdAndState(Integer bookerId, BookingState state, LocalDateTime now,
+                                                         BookingCursor after, int size) {
+        return findSlice(Role.BOOKER, bookerId, state, now, after, size);
+    }
+
+    @Override
+    public Slice<BookingDto> findSliceByOwnerIdAndState(Integer ownerId, BookingState state, LocalDateTime now,
+                                                        BookingCursor after, int size) {
+        return findSlice(Role.OWNER, ownerId, state, now, after, size);
+    }
+
+    private Slice<BookingDto> findSlice(Role role, Integer userId, BookingState state, LocalDateTime now,
+                                        BookingCursor after, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        List<BookingDto> bookings = find(role, userId, state, now, after, PageRequest.of(0, size + 1));
+        boolean hasNext = bookings.size() > size;
+        return new SliceImpl<>(hasNext ? bookings.subList(0, size) : bookings, pageable, hasNext);
+    }
+
+    private List<BookingDto> find(Role role, Integer userId, BookingState state, LocalDateTime now,
+                                  BookingCursor after, Pageable pageable) {
+        String jpql = SELECT +
+                (role == Role.BOOKER ? "where u.id = :userId " : "where i.ownerId = :userId ") +
+                STATUS_FILTERS.get(state) +
+                FILTERS;
+        LocalDateTime startFrom = state == BookingState.FUTURE ? now : EARLIEST;
+        LocalDateTime startTo = state == BookingState.CURRENT ? now : LATEST;
+        LocalDateTime endFrom = state == BookingState.CURRENT ? now : EARLIEST;
+        LocalDateTime endTo = state == BookingState.PAST ? now : LATEST;
+        BookingCursor cursor = after != null ? after : BookingCursor.FIRST;
+
+        TypedQuery<BookingDto> query = entityManager.createQuery(jpql, BookingDto.class)
+                                                    .setParameter("userId", userId)
+                                                    .setParameter("startFrom", startFrom)
+                                                    .setParameter("startTo", startTo)
+                                                    .setParameter("endFrom", endFrom)
+                                                    .setParameter("endTo", endTo)
+                                                    .setParameter("cursorStart", cursor.getStart())
+                                                    .setParameter("cursorId", cursor.getId());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset())
+                 .setMaxResults(pageable.getPageSize());
+        }
+        return query.getResultList();
+    }
+
+    private enum Role {
+        BOOKER, OWNER
+    }
+}
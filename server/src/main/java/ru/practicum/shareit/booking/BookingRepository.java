@@ -1,58 +1,74 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
-public interface BookingRepository extends JpaRepository<Booking, Integer> {
-    List<Booking> findAllByBookerId(Integer bookerId);
-
-    @Query("select b from Booking b " +
-            "where b.item.id = :itemId " +
-            "and b.item.ownerId = :ownerId " +
-            "and b.status = 'APPROVED'" +
-            "and b.end < current_timestamp " +
-            "order by b.end ")
-    Optional<Booking> findLastBooking(Integer itemId, Integer ownerId);
-
-    @Query("select b from Booking b " +
-            "where b.item.id = :itemId " +
-            "and b.item.ownerId = :ownerId " +
-            "and b.status = 'APPROVED'" +
-            "and b.start > current_timestamp " +
-            "order by b.start ")
-    Optional<Booking> findNextBooking(Integer itemId, Integer ownerId);
-
-    Page<Booking> findAllByBookerId(Integer bookerId, Pageable page);
-
-    Page<Booking> findByBookerIdOrderByStartDesc(Integer bookerId, Pageable pageable);
-
-    Page<Booking> findByBookerIdAndStatusEqualsOrderByStartDesc(Integer bookerId, BookingStatus status, Pageable pageable);
-
-    Page<Booking> findByBookerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
-            Integer bookerId, LocalDateTime end, BookingStatus status, Pageable pageable);
+public interface BookingRepository extends JpaRepository<Booking, Integer>, BookingQueries {
+    @Override
+    @EntityGraph(attributePaths = {"item", "item.itemRequest", "item.itemRequest.requester", "booker"})
+    Optional<Booking> findById(Integer id);
 
-    Page<Booking> findByBookerIdAndStartIsAfterOrderByStartDesc(
-            Integer bookerId, LocalDateTime start, Pageable pageable);
-
-    Page<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-            Integer bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findByItemIdInOrderByStartDesc(List<Integer> itemIds, Pageable pageable);
-
-    Page<Booking> findByItemIdInAndStatusEqualsOrderByStartDesc(List<Integer> itemIds, BookingStatus status, Pageable pageable);
-
-    Page<Booking> findByItemIdInAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
-            List<Integer> itemIds, LocalDateTime end, BookingStatus status, Pageable pageable);
-
-    Page<Booking> findByItemIdInAndStartIsAfterOrderByStartDesc(
-            List<Integer> itemIds, LocalDateTime start, Pageable pageable);
+    List<Booking> findAllByBookerId(Integer bookerId);
 
-    Page<Booking> findByItemIdInAndStartBeforeAndEndIsAfterOrderByStartDesc(
-            List<Integer> itemIds, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1 " +
+            "where b.id = :id and b.status = 'WAITING'")
+    int updateStatusIfWaiting(Integer id, BookingStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1 " +
+            "where b.id in :ids and b.status = 'WAITING' " +
+            "and b.item.id in (select i.id from Item i where i.ownerId = :ownerId)")
+    int updateStatusIfWaiting(List<Integer> ids, Integer ownerId, BookingStatus status);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.lockMode.b", value = "PESSIMISTIC_WRITE"))
+    @Query("select b from Booking b join fetch b.item where b.id in :ids order by b.id")
+    List<Booking> lockAllWithItemByIdIn(List<Integer> ids);
+
+    List<Booking> findAllByItemIdInAndStatusAndStartBeforeAndEndAfter(Collection<Integer> itemIds,
+                                                                       BookingStatus status, LocalDateTime end,
+                                                                       LocalDateTime start);
+
+    List<Booking> findAllByItemIdAndStatusIn(Integer itemId, List<BookingStatus> statuses);
+
+    List<Booking> findAllByItemIdAndStatusInAndEndAfter(Integer itemId, List<BookingStatus> statuses,
+                                                        LocalDateTime end);
+
+    @Query("select distinct b.item.id from Booking b " +
+            "where (b.booker.id = :userId or b.item.ownerId = :userId) and b.status in :statuses and b.end > :end")
+    Set<Integer> findItemIdsByParticipantAndStatusInAndEndAfter(Integer userId, List<BookingStatus> statuses,
+                                                                LocalDateTime end);
+
+    boolean existsByItemIdAndStatusAndStartBeforeAndEndAfter(Integer itemId, BookingStatus status, LocalDateTime end,
+                                                             LocalDateTime start);
+
+    @Query(value = "select id, start_date, end_date, item_id, booker_id, status, version from (" +
+            "select b.*, row_number() over (partition by b.item_id order by b.end_date desc, b.id desc) as rn " +
+            "from bookings b join items i on i.id = b.item_id " +
+            "where b.item_id in (:itemIds) " +
+            "and i.owner_id = :ownerId " +
+            "and b.status = 'APPROVED' " +
+            "and b.end_date < current_timestamp) ranked " +
+            "where rn = 1", nativeQuery = true)
+    List<Booking> findLastBookings(List<Integer> itemIds, Integer ownerId);
+
+    @Query(value = "select id, start_date, end_date, item_id, booker_id, status, version from (" +
+            "select b.*, row_number() over (partition by b.item_id order by b.start_date, b.id) as rn " +
+            "from bookings b join items i on i.id = b.item_id " +
+            "where b.item_id in (:itemIds) " +
+            "and i.owner_id = :ownerId " +
+            "and b.status = 'APPROVED' " +
+            "and b.start_date > current_timestamp) ranked " +
+            "where rn = 1", nativeQuery = true)
+    List<Booking> findNextBookings(List<Integer> itemIds, Integer ownerId);
 }
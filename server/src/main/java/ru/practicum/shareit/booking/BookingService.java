@@ -1,5 +1,8 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingService {
@@ -8,11 +11,19 @@ public interface BookingService {
 
     List<BookingDto> getAllByOwnerId(Integer ownerId, String state, Integer from, Integer size);
 
+    Slice<BookingDto> getAllByBookerIdAfterCursor(Integer bookerId, String state, String cursor, Integer size);
+
+    Slice<BookingDto> getAllByOwnerIdAfterCursor(Integer ownerId, String state, String cursor, Integer size);
+
     BookingDto getBookingById(Integer bookingId, Integer ownerId);
 
     BookingDto updateBooking(BookingDtoIn bookingDtoIn, Integer ownerId);
 
     BookingDto confirmation(Integer bookingId, Integer ownerId, Boolean approved);
 
+    List<BookingConfirmationDto> confirmAll(List<Integer> bookingIds, Integer ownerId, Boolean approved);
+
+    AvailabilityDto getAvailability(Integer itemId, LocalDateTime start, LocalDateTime end);
+
 
 }
@@ -2,20 +2,30 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdRegistry;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,63 +33,27 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Slf4j
 public class BookingServiceImpl implements BookingService {
+    private static final int MAX_CONFIRMATION_BATCH = 100;
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserIdRegistry userIdRegistry;
+    private final BookingAvailabilityIndex bookingAvailabilityIndex;
 
     @Override
     public List<BookingDto> getAllByBookerId(Integer bookerId, String state, Integer from, Integer size) {
         BookingState bookingState = BookingState.from(state).orElseThrow(
                 () -> new IllegalArgumentException("Unknown state: " + state));
         Pageable pageable = pagination(from, size);
-        Page<Booking> bookingList;
-        LocalDateTime dateTime = LocalDateTime.now();
-        userRepository.findById(bookerId).orElseThrow(() -> new NotFoundException(
-                String.format("Пользователь с id = %s не найден", bookerId)));
-        switch (bookingState) {
-            case ALL:
-                bookingList = bookingRepository.findByBookerIdOrderByStartDesc(bookerId, pageable);
-                break;
-            case WAITING:
-                bookingList = bookingRepository.findByBookerIdAndStatusEqualsOrderByStartDesc(
-                        bookerId,
-                        BookingStatus.WAITING,
-                        pageable);
-                break;
-            case REJECTED:
-                bookingList = bookingRepository.findByBookerIdAndStatusEqualsOrderByStartDesc(
-                        bookerId,
-                        BookingStatus.REJECTED,
-                        pageable);
-                break;
-            case PAST:
-                bookingList = bookingRepository.findByBookerIdAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
-                        bookerId,
-                        dateTime,
-                        BookingStatus.APPROVED,
-                        pageable);
-                break;
-            case FUTURE:
-                bookingList = bookingRepository.findByBookerIdAndStartIsAfterOrderByStartDesc(
-                        bookerId,
-                        dateTime,
-                        pageable);
-                break;
-            case CURRENT:
-                bookingList = bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-                        bookerId,
-                        dateTime,
-                        dateTime,
-                        pageable);
-                break;
-            default:
-                throw new NotFoundException("Недопустимый статус");
-        }
+        checkUserExistById(bookerId);
+        List<BookingDto> bookingList = bookingRepository.findByBookerIdAndState(
+                bookerId, bookingState, LocalDateTime.now(), pageable);
         if (bookingList.isEmpty()) {
             throw new NotFoundException("Бронирования отсутствуют.");
         } else {
             log.info("Получены все бронирования пользователя с id = {} (getAllByBookerId())", bookerId);
-            return bookingList.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+            return bookingList;
         }
     }
 
@@ -88,59 +62,45 @@ public class BookingServiceImpl implements BookingService {
         BookingState bookingState = BookingState.from(state).orElseThrow(
                 () -> new IllegalArgumentException("Unknown state: " + state));
         Pageable pageable = pagination(from, size);
-        List<Integer> ownerItemsList = itemRepository.findAllByOwnerIdOrderByIdAsc(ownerId, PageRequest.of(0, Integer.MAX_VALUE))
-                                                     .stream()
-                                                     .map(Item::getId)
-                                                     .collect(Collectors.toList());
-        Page<Booking> bookingList;
-        LocalDateTime dateTime = LocalDateTime.now();
-        userRepository.findById(ownerId).orElseThrow(() -> new NotFoundException(
-                String.format("Пользователь с id = %s не найден", ownerId)));
-        switch (bookingState) {
-            case ALL:
-                bookingList = bookingRepository.findByItemIdInOrderByStartDesc(ownerItemsList, pageable);
-                break;
-            case WAITING:
-                bookingList = bookingRepository.findByItemIdInAndStatusEqualsOrderByStartDesc(
-                        ownerItemsList,
-                        BookingStatus.WAITING,
-                        pageable);
-                break;
-            case REJECTED:
-                bookingList = bookingRepository.findByItemIdInAndStatusEqualsOrderByStartDesc(
-                        ownerItemsList,
-                        BookingStatus.REJECTED,
-                        pageable);
-                break;
-            case PAST:
-                bookingList = bookingRepository.findByItemIdInAndEndIsBeforeAndStatusEqualsOrderByStartDesc(
-                        ownerItemsList,
-                        dateTime,
-                        BookingStatus.APPROVED,
-                        pageable);
-                break;
-            case FUTURE:
-                bookingList = bookingRepository.findByItemIdInAndStartIsAfterOrderByStartDesc(
-                        ownerItemsList,
-                        dateTime,
-                        pageable);
-                break;
-            case CURRENT:
-                bookingList = bookingRepository.findByItemIdInAndStartBeforeAndEndIsAfterOrderByStartDesc(
-                        ownerItemsList,
-                        dateTime,
-                        dateTime,
-                        pageable);
-                break;
-            default:
-                throw new NotFoundException("Недопустимый статус");
-        }
+        checkUserExistById(ownerId);
+        List<BookingDto> bookingList = bookingRepository.findByOwnerIdAndState(
+                ownerId, bookingState, LocalDateTime.now(), pageable);
         if (bookingList.isEmpty()) {
             throw new NotFoundException("Бронирования отсутствуют.");
         } else {
             log.info("Получены все бронирования пользователя с id = {} (getAllByOwnerId())", ownerId);
-            return bookingList.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+            return bookingList;
+        }
+    }
+
+    @Override
+    public Slice<BookingDto> getAllByBookerIdAfterCursor(Integer bookerId, String state, String cursor, Integer size) {
+        BookingState bookingState = BookingState.from(state).orElseThrow(
+                () -> new IllegalArgumentException("Unknown state: " + state));
+        BookingCursor after = BookingCursor.decode(cursor);
+        checkUserExistById(bookerId);
+        Slice<BookingDto> bookingSlice = bookingRepository.findSliceByBookerIdAndState(
+                bookerId, bookingState, LocalDateTime.now(), after, size);
+        if (bookingSlice.isEmpty()) {
+            throw new NotFoundException("Бронирования отсутствуют.");
+        }
+        log.info("Получена страница бронирований пользователя с id = {} (getAllByBookerIdAfterCursor())", bookerId);
+        return bookingSlice;
+    }
+
+    @Override
+    public Slice<BookingDto> getAllByOwnerIdAfterCursor(Integer ownerId, String state, String cursor, Integer size) {
+        BookingState bookingState = BookingState.from(state).orElseThrow(
+                () -> new IllegalArgumentException("Unknown state: " + state));
+        BookingCursor after = BookingCursor.decode(cursor);
+        checkUserExistById(ownerId);
+        Slice<BookingDto> bookingSlice = bookingRepository.findSliceByOwnerIdAndState(
+                ownerId, bookingState, LocalDateTime.now(), after, size);
+        if (bookingSlice.isEmpty()) {
+            throw new NotFoundException("Бронирования отсутствуют.");
         }
+        log.info("Получена страница бронирований владельца с id = {} (getAllByOwnerIdAfterCursor())", ownerId);
+        return bookingSlice;
     }
 
     @Override
@@ -161,7 +121,7 @@ public class BookingServiceImpl implements BookingService {
     public BookingDto updateBooking(BookingDtoIn bookingDtoIn, Integer ownerId) {
         User booker = userRepository.findById(ownerId).orElseThrow(() -> new NotFoundException(
                 String.format("Пользователь с id = %s не найден", ownerId)));
-        Item item = itemRepository.findById(bookingDtoIn.getItemId()).orElseThrow(() -> new NotFoundException(
+        Item item = itemRepository.findWithItemRequestById(bookingDtoIn.getItemId()).orElseThrow(() -> new NotFoundException(
                 String.format("Вещь с id = %s не найдена", bookingDtoIn.getItemId())));
         BookingDto bookingDto = BookingMapper.toBookingDto(bookingDtoIn, item);
         if (bookingDto.getStart().isBefore(LocalDateTime.now())
@@ -175,10 +135,13 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException(String.format("Вы являетесь владельцем вещи с id = %s", item.getId()));
         }
         if (item.getAvailable()) {
+            checkNoApprovedOverlap(item.getId(), bookingDto.getStart(), bookingDto.getEnd());
             Booking booking = BookingMapper.toBooking(bookingDto, item, booker);
             booking.setStatus(BookingStatus.WAITING);
-            log.info("Запрос с id = {} сохранен (save())", booking.getId());
-            return BookingMapper.toBookingDto(bookingRepository.save(booking));
+            Booking savedBooking = bookingRepository.save(booking);
+            bookingAvailabilityIndex.onBookingSaved(savedBooking);
+            log.info("Запрос с id = {} сохранен (save())", savedBooking.getId());
+            return BookingMapper.toBookingDto(savedBooking);
         }
         throw new ValidationException(String.format("Вещь с id = %s недоступна для аренды", bookingDto.getItem().getId()));
     }
@@ -188,24 +151,150 @@ public class BookingServiceImpl implements BookingService {
     public BookingDto confirmation(Integer bookingId, Integer ownerId, Boolean approved) {
         Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> new NotFoundException(
                 String.format("Запрос с id = %s не найден", bookingId)));
-        userRepository.findById(ownerId).orElseThrow(() -> new NotFoundException(
-                String.format("Пользователь с id = %s не найден", ownerId)));
+        checkUserExistById(ownerId);
         itemRepository.findById(booking.getItem().getId()).orElseThrow(() -> new NotFoundException(
                 String.format("Вещь с id = %s не найдена", booking.getItem().getId())));
 
         if (booking.getItem().getOwnerId().equals(ownerId)) {
-            if (booking.getStatus() == BookingStatus.WAITING) {
-                booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-            } else {
+            if (booking.getStatus() != BookingStatus.WAITING) {
                 throw new ValidationException("Изменение статуса бронирования недоступно");
             }
+            BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+            if (approved) {
+                checkNoApprovedOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+            }
+            int updated;
+            try {
+                updated = bookingRepository.updateStatusIfWaiting(bookingId, status);
+            } catch (DataIntegrityViolationException e) {
+                throw new ConflictException(String.format("Вещь с id = %s уже забронирована на это время",
+                        booking.getItem().getId()));
+            }
+            if (updated == 0) {
+                throw new ConflictException(String.format("Статус бронирования с id = %s уже изменен", bookingId));
+            }
+            booking.setStatus(status);
+            booking.setVersion(booking.getVersion() + 1);
+            bookingAvailabilityIndex.onBookingSaved(booking);
             log.info("Статус бронированиня у запроса с id = {} изменен на {} (confirmation())", booking.getId(),
                     booking.getStatus());
-            return BookingMapper.toBookingDto(bookingRepository.save(booking));
+            return BookingMapper.toBookingDto(booking);
         }
         throw new NotFoundException("Статус брони может изменять только владелец");
     }
 
+    @Override
+    @Transactional
+    public List<BookingConfirmationDto> confirmAll(List<Integer> bookingIds, Integer ownerId, Boolean approved) {
+        checkUserExistById(ownerId);
+        List<Integer> ids = bookingIds.stream()
+                                      .distinct()
+                                      .collect(Collectors.toList());
+        if (ids.size() > MAX_CONFIRMATION_BATCH) {
+            throw new ValidationException(String.format("За один запрос можно изменить не более %s бронирований",
+                    MAX_CONFIRMATION_BATCH));
+        }
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        List<Booking> locked = bookingRepository.lockAllWithItemByIdIn(ids);
+        Map<Integer, Booking> bookings = locked.stream()
+                                               .collect(Collectors.toMap(Booking::getId, b -> b));
+        Map<Integer, List<Booking>> approvedByItem = approved ? findApprovedByItem(locked) : Map.of();
+        Map<Integer, BookingConfirmationDto> results = new LinkedHashMap<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (Integer id : ids) {
+            Booking booking = bookings.get(id);
+            if (booking == null) {
+                results.put(id, new BookingConfirmationDto(id, ConfirmationResult.NOT_FOUND, null));
+            } else if (!booking.getItem().getOwnerId().equals(ownerId)) {
+                results.put(id, new BookingConfirmationDto(id, ConfirmationResult.NOT_OWNER, null));
+            } else if (booking.getStatus() != BookingStatus.WAITING) {
+                results.put(id, new BookingConfirmationDto(id, ConfirmationResult.NOT_WAITING, booking.getStatus()));
+            } else if (approved && overlapsApproved(booking, approvedByItem)) {
+                results.put(id, new BookingConfirmationDto(id, ConfirmationResult.CONFLICT, booking.getStatus()));
+            } else {
+                results.put(id, new BookingConfirmationDto(id, ConfirmationResult.CONFIRMED, status));
+                candidates.add(id);
+                if (approved) {
+                    approvedByItem.computeIfAbsent(booking.getItem().getId(), itemId -> new ArrayList<>())
+                                  .add(booking);
+                }
+            }
+        }
+        if (!candidates.isEmpty()) {
+            try {
+                bookingRepository.updateStatusIfWaiting(candidates, ownerId, status);
+            } catch (DataIntegrityViolationException e) {
+                throw new ConflictException("Подтверждаемые бронирования пересекаются с уже подтвержденными");
+            }
+            for (Integer id : candidates) {
+                Booking booking = bookings.get(id);
+                booking.setStatus(status);
+                booking.setVersion(booking.getVersion() + 1);
+                bookingAvailabilityIndex.onBookingSaved(booking);
+            }
+        }
+        log.info("Статус {} установлен для бронирований {} из {} (confirmAll())", status, candidates.size(),
+                ids.size());
+        return new ArrayList<>(results.values());
+    }
+
+    @Override
+    public AvailabilityDto getAvailability(Integer itemId, LocalDateTime start, LocalDateTime end) {
+        if (!end.isAfter(start) || start.isBefore(LocalDateTime.now())) {
+            throw new ValidationException("Недопустимое время брони");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException(String.format("Вещь с id = %s не найдена", itemId));
+        }
+        boolean available = bookingAvailabilityIndex.isFree(itemId, start, end);
+        LocalDateTime nextFreeStart = available ? start
+                : bookingAvailabilityIndex.nextFree(itemId, start, Duration.between(start, end));
+        log.info("Проверена доступность вещи с id = {} (getAvailability())", itemId);
+        return new AvailabilityDto(itemId, start, end, available, nextFreeStart);
+    }
+
+    private Map<Integer, List<Booking>> findApprovedByItem(List<Booking> bookings) {
+        Map<Integer, List<Booking>> approvedByItem = new HashMap<>();
+        if (bookings.isEmpty()) {
+            return approvedByItem;
+        }
+        Set<Integer> itemIds = new HashSet<>();
+        LocalDateTime from = LocalDateTime.MAX;
+        LocalDateTime to = LocalDateTime.MIN;
+        for (Booking booking : bookings) {
+            itemIds.add(booking.getItem().getId());
+            from = booking.getStart().isBefore(from) ? booking.getStart() : from;
+            to = booking.getEnd().isAfter(to) ? booking.getEnd() : to;
+        }
+        for (Booking booking : bookingRepository.findAllByItemIdInAndStatusAndStartBeforeAndEndAfter(itemIds,
+                BookingStatus.APPROVED, to, from)) {
+            approvedByItem.computeIfAbsent(booking.getItem().getId(), itemId -> new ArrayList<>()).add(booking);
+        }
+        return approvedByItem;
+    }
+
+    private boolean overlapsApproved(Booking booking, Map<Integer, List<Booking>> approvedByItem) {
+        for (Booking other : approvedByItem.getOrDefault(booking.getItem().getId(), List.of())) {
+            if (other.getStart().isBefore(booking.getEnd()) && other.getEnd().isAfter(booking.getStart())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkNoApprovedOverlap(Integer itemId, LocalDateTime start, LocalDateTime end) {
+        if (bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(itemId, BookingStatus.APPROVED, end,
+                start)) {
+            throw new ConflictException(String.format("Вещь с id = %s уже забронирована на это время", itemId));
+        }
+    }
+
+    private void checkUserExistById(Integer userId) {
+        if (!userIdRegistry.exists(userId)) {
+            throw new NotFoundException(String.format("Пользователь с id = %s не найден", userId));
+        }
+    }
+
     private Pageable pagination(Integer from, Integer size) {
         Integer page;
         if (from < 0) {
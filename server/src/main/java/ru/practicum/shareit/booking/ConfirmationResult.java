@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking;
+
+public enum ConfirmationResult {
+    CONFIRMED,
+    NOT_FOUND,
+    NOT_OWNER,
+    NOT_WAITING,
+    CONFLICT
+}
@@ -0,0 +1,159 @@
+package ru.practicum.shareit.booking;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+class IntervalTree {
+    private final Map<Integer, Node> nodes = new HashMap<>();
+    private final NavigableSet<Node> byEnd = new TreeSet<>(Comparator.comparing((Node node) -> node.end)
+                                                                     .thenComparing(node -> node.id));
+    private Node root;
+
+    void add(Integer id, LocalDateTime start, LocalDateTime end) {
+        remove(id);
+        Node node = new Node(id, start, end, ThreadLocalRandom.current().nextInt());
+        Node[] parts = split(root, node);
+        root = merge(merge(parts[0], node), parts[1]);
+        nodes.put(id, node);
+        byEnd.add(node);
+    }
+
+    boolean remove(Integer id) {
+        Node node = nodes.remove(id);
+        if (node == null) {
+            return false;
+        }
+        byEnd.remove(node);
+        root = remove(root, node);
+        return true;
+    }
+
+    int removeEndedBefore(LocalDateTime cutoff) {
+        int removed = 0;
+        while (!byEnd.isEmpty() && !byEnd.first().end.isAfter(cutoff)) {
+            Node node = byEnd.pollFirst();
+            nodes.remove(node.id);
+            root = remove(root, node);
+            removed++;
+        }
+        return removed;
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return findOverlap(start, end) != null;
+    }
+
+    LocalDateTime nextFree(LocalDateTime from, Duration duration) {
+        LocalDateTime candidate = from;
+        Node blocking = findOverlap(candidate, candidate.plus(duration));
+        while (blocking != null) {
+            candidate = blocking.end;
+            blocking = findOverlap(candidate, candidate.plus(duration));
+        }
+        return candidate;
+    }
+
+    private Node findOverlap(LocalDateTime start, LocalDateTime end) {
+        Node current = root;
+        while (current != null) {
+            if (current.start.isBefore(end) && current.end.isAfter(start)) {
+                return current;
+            }
+            if (current.left != null && current.left.maxEnd.isAfter(start)) {
+                current = current.left;
+            } else {
+                current = current.right;
+            }
+        }
+        return null;
+    }
+
+    private Node remove(Node current, Node node) {
+        if (current == node) {
+            return merge(current.left, current.right);
+        }
+        if (compare(node, current) < 0) {
+            current.left = remove(current.left, node);
+        } else {
+            current.right = remove(current.right, node);
+        }
+        update(current);
+        return current;
+    }
+
+    private Node[] split(Node current, Node key) {
+        if (current == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(current, key) < 0) {
+            Node[] parts = split(current.right, key);
+            current.right = parts[0];
+            update(current);
+            return new Node[]{current, parts[1]};
+        }
+        Node[] parts = split(current.left, key);
+        current.left = parts[1];
+        update(current);
+        return new Node[]{parts[0], current};
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private void update(Node node) {
+        node.maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.right.maxEnd;
+        }
+    }
+
+    private int compare(Node first, Node second) {
+        int byStart = first.start.compareTo(second.start);
+        return byStart != 0 ? byStart : Integer.compare(first.id, second.id);
+    }
+
+    private static class Node {
+        private final Integer id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int priority;
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(Integer id, LocalDateTime start, LocalDateTime end, int priority) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+}
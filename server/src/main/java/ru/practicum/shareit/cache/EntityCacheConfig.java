@@ -0,0 +1,57 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ObjectUtils;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class EntityCacheConfig {
+    private static final String CACHE_MANAGER = "hibernate.javax.cache.cache_manager";
+    private static final String MISSING_CACHE_STRATEGY = "hibernate.javax.cache.missing_cache_strategy";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(CacheProperties cacheProperties, ApplicationContext applicationContext) {
+        URI uri = URI.create("shareit-" + applicationContext.getId() + "-" +
+                ObjectUtils.getIdentityHexString(applicationContext));
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                                           .getCacheManager(uri, applicationContext.getClassLoader());
+        cacheProperties.getRegions().forEach((name, region) ->
+                cacheManager.createCache(name, toConfiguration(region)));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheManagerCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(CACHE_MANAGER, entityCacheManager);
+            properties.put(MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder entityCacheMetrics(CacheManager entityCacheManager, CacheProperties cacheProperties) {
+        return registry -> cacheProperties.getRegions().keySet().forEach(name ->
+                JCacheMetrics.monitor(registry, entityCacheManager.getCache(name)));
+    }
+
+    private CaffeineConfiguration<Object, Object> toConfiguration(CacheProperties.Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.getMaxSize()));
+        configuration.setExpireAfterWrite(OptionalLong.of(region.getExpireAfterWrite().toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.transaction.AfterCommit;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EntityCacheEvictor {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void onUserRemoved(Integer userId) {
+        AfterCommit.run(() -> {
+            Cache cache = entityManagerFactory.getCache();
+            cache.evict(Item.class);
+            cache.evict(ItemRequest.class);
+            log.info("Кэш вещей и запросов очищен после удаления пользователя с id = {}", userId);
+        });
+    }
+}
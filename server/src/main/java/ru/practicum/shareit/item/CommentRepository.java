@@ -1,11 +1,13 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
-    @Query("select c from Comment c where c.item.id = ?1 order by c.id")
-    List<Comment> findAllByItemId(Integer itemId);
+    @EntityGraph(attributePaths = "author")
+    @Query("select c from Comment c where c.item.id in ?1 order by c.id")
+    List<Comment> findAllByItemIdIn(List<Integer> itemIds);
 }
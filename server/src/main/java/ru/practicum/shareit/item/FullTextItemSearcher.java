@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = ItemSearcher.MODE, havingValue = "fulltext")
+@RequiredArgsConstructor
+public class FullTextItemSearcher implements ItemSearcher {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable page) {
+        return itemRepository.searchFullText(text, page);
+    }
+}
@@ -0,0 +1,188 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.transaction.AfterCommit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Component
+@ConditionalOnProperty(name = ItemSearcher.MODE, havingValue = "memory")
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryItemSearcher implements ItemSearcher, SmartInitializingSingleton {
+    private static final int GRAM = 3;
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Integer, Item> items = new TreeMap<>();
+    private volatile boolean built;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        build();
+    }
+
+    public void build() {
+        lock.writeLock().lock();
+        try {
+            List<Item> all = itemRepository.findAll();
+            postings.clear();
+            items.clear();
+            all.forEach(this::index);
+            built = true;
+            log.info("Индекс поиска построен, вещей: {}, n-грамм: {}", all.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable page) {
+        if (!built) {
+            return itemRepository.search(text, page);
+        }
+        String query = text.toUpperCase();
+        long skip = page.isPaged() ? page.getOffset() : 0;
+        long limit = page.isPaged() ? page.getPageSize() : Long.MAX_VALUE;
+        lock.readLock().lock();
+        try {
+            IntStream ids = query.length() < GRAM
+                    ? items.keySet().stream().mapToInt(Integer::intValue)
+                    : candidates(query);
+            return ids.mapToObj(items::get)
+                      .filter(item -> item.getAvailable() && matches(item, query))
+                      .skip(skip)
+                      .limit(limit)
+                      .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onItemSaved(Item item) {
+        Item copy = new Item(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getOwnerId(), item.getItemRequest());
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(copy.getId());
+                index(copy);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void onItemRemoved(Integer itemId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(itemId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void onOwnerRemoved(Integer ownerId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                items.values().stream()
+                     .filter(i -> i.getOwnerId().equals(ownerId))
+                     .map(Item::getId)
+                     .collect(Collectors.toList())
+                     .forEach(this::unindex);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private IntStream candidates(String query) {
+        List<PostingList> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            PostingList list = postings.get(query.substring(i, i + GRAM));
+            if (list == null) {
+                return IntStream.empty();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        PostingList shortest = lists.get(0);
+        int[] positions = new int[lists.size()];
+        return IntStream.range(0, shortest.size())
+                        .map(shortest::get)
+                        .filter(id -> containedInAll(lists, positions, id));
+    }
+
+    private boolean containedInAll(List<PostingList> lists, int[] positions, int id) {
+        for (int i = 1; i < lists.size(); i++) {
+            int index = lists.get(i).find(id, positions[i]);
+            positions[i] = index >= 0 ? index + 1 : -index - 1;
+            if (index < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(Item item, String query) {
+        return item.getName().toUpperCase().contains(query) || item.getDescription().toUpperCase().contains(query);
+    }
+
+    private void index(Item item) {
+        items.put(item.getId(), item);
+        for (String gram : grams(item)) {
+            postings.computeIfAbsent(gram, g -> new PostingList()).add(item.getId());
+        }
+    }
+
+    private void unindex(Integer itemId) {
+        Item item = items.remove(itemId);
+        if (item == null) {
+            return;
+        }
+        for (String gram : grams(item)) {
+            PostingList list = postings.get(gram);
+            if (list != null) {
+                list.remove(itemId);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private Set<String> grams(Item item) {
+        Set<String> grams = new HashSet<>();
+        addGrams(grams, item.getName().toUpperCase());
+        addGrams(grams, item.getDescription().toUpperCase());
+        return grams;
+    }
+
+    private void addGrams(Set<String> grams, String value) {
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+    }
+}
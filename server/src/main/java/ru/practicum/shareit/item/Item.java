@@ -1,17 +1,19 @@
 package ru.practicum.shareit.item;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.request.ItemRequest;
 
 import javax.persistence.*;
 import java.util.Objects;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "item")
 @Table(name = "items", schema = "public")
 @Getter
 @Setter
 @ToString
-@AllArgsConstructor
 @NoArgsConstructor
 public class Item {
     @Id
@@ -22,9 +24,22 @@ public class Item {
     private Boolean available;
     @Column(name = "owner_id")
     private Integer ownerId;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
+    @ToString.Exclude
     private ItemRequest itemRequest;
+    @Version
+    private int version;
+
+    public Item(Integer id, String name, String description, Boolean available, Integer ownerId,
+                ItemRequest itemRequest) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.available = available;
+        this.ownerId = ownerId;
+        this.itemRequest = itemRequest;
+    }
 
     public Item(Integer id, String name, String description, Boolean available, ItemRequest itemRequest) {
         this.id = id;
@@ -1,23 +1,40 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Integer> {
     @Query("select i from Item i " +
-            "where upper(i.name) like upper(concat('%', :text, '%')) " +
-            "or upper(i.description) like upper(concat('%', :text, '%')) " +
+            "where (upper(i.name) like upper(concat('%', :text, '%')) " +
+            "or upper(i.description) like upper(concat('%', :text, '%'))) " +
             "and i.available = true " +
             "order by i.id")
-    Page<Item> search(String text, Pageable page);
+    List<Item> search(String text, Pageable page);
 
-    Page<Item> findAllByOwnerIdOrderByIdAsc(Integer ownerId, Pageable page);
+    @Query(value = "select i.id, i.name, i.description, i.available, i.owner_id, i.request_id, i.version from items i " +
+            "where i.search_vector @@ plainto_tsquery('simple', :text) " +
+            "and i.available = true " +
+            "order by ts_rank(i.search_vector, plainto_tsquery('simple', :text)) desc, i.id", nativeQuery = true)
+    List<Item> searchFullText(String text, Pageable page);
+
+    @Query(value = "select i.id, i.name, i.description, i.available, i.owner_id, i.request_id, i.version from items i " +
+            "where (i.name ilike concat('%', :text, '%') or i.description ilike concat('%', :text, '%')) " +
+            "and i.available = true " +
+            "order by greatest(similarity(i.name, :text), similarity(i.description, :text)) desc, i.id",
+            nativeQuery = true)
+    List<Item> searchTrigram(String text, Pageable page);
+
+    List<Item> findAllByOwnerIdOrderByIdAsc(Integer ownerId, Pageable page);
+
+    @EntityGraph(attributePaths = {"itemRequest", "itemRequest.requester"})
+    Optional<Item> findWithItemRequestById(Integer id);
 
-    List<Item> findItemByItemRequestIdOrderByIdDesc(Integer itemRequestId);
+    List<Item> findAllByItemRequestIdInOrderByIdDesc(List<Integer> itemRequestIds);
 }
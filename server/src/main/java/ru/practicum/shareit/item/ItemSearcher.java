@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface ItemSearcher {
+    String MODE = "shareit.search.mode";
+
+    List<Item> search(String text, Pageable page);
+
+    default void onItemSaved(Item item) {
+    }
+
+    default void onItemRemoved(Integer itemId) {
+    }
+
+    default void onOwnerRemoved(Integer ownerId) {
+    }
+}
@@ -7,17 +7,20 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingAvailabilityIndex;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdRegistry;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 
@@ -31,13 +34,15 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearcher itemSearcher;
+    private final UserIdRegistry userIdRegistry;
+    private final BookingAvailabilityIndex bookingAvailabilityIndex;
 
     @Override
     public List<ItemDtoInfo> getAllItems(Integer ownerId, Integer from, Integer size) {
+        List<Item> items = itemRepository.findAllByOwnerIdOrderByIdAsc(ownerId, pagination(from, size));
         log.info("Получены все вещи пользователя c id = {} (getAllItems())", ownerId);
-        return itemRepository.findAllByOwnerIdOrderByIdAsc(ownerId, pagination(from, size)).stream()
-                             .map(i -> toItemDtoInfo(i, ownerId))
-                             .collect(Collectors.toList());
+        return toItemDtoInfos(items, ownerId);
     }
 
     @Override
@@ -45,7 +50,7 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException(
                 String.format("Вещь с id = %s не найдена", itemId)));
         log.info("Найдена вещь с id = {} (getItemById())", itemId);
-        return toItemDtoInfo(item, ownerId);
+        return toItemDtoInfos(List.of(item), ownerId).get(0);
     }
 
     @Override
@@ -58,8 +63,10 @@ public class ItemServiceImpl implements ItemService {
                     () -> new NotFoundException(String.format("Запрос на вещь с id = %s не найден", itemDto.getRequestId()))));
         }
         item.setOwnerId(ownerId);
-        log.info("Вещь с id = {} сохранена (addItem())", item.getId());
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearcher.onItemSaved(savedItem);
+        log.info("Вещь с id = {} сохранена (addItem())", savedItem.getId());
+        return ItemMapper.toItemDto(savedItem);
 
     }
 
@@ -79,8 +86,10 @@ public class ItemServiceImpl implements ItemService {
             if (itemDto.getAvailable() != null) {
                 oldItem.setAvailable(itemDto.getAvailable());
             }
-            log.info("Данные о вещи с id = {} обновлены (updateItem())", oldItem.getId());
-            return ItemMapper.toItemDto(itemRepository.save(oldItem));
+            Item savedItem = itemRepository.save(oldItem);
+            itemSearcher.onItemSaved(savedItem);
+            log.info("Данные о вещи с id = {} обновлены (updateItem())", savedItem.getId());
+            return ItemMapper.toItemDto(savedItem);
         }
         throw new NotFoundException("Только владелец может менять информацию о вещи");
     }
@@ -89,6 +98,8 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     public void removeItem(Integer itemId) {
         itemRepository.deleteById(itemId);
+        itemSearcher.onItemRemoved(itemId);
+        bookingAvailabilityIndex.onItemRemoved(itemId);
         log.info("Вещь с id = {} удалена", itemId);
     }
 
@@ -96,9 +107,9 @@ public class ItemServiceImpl implements ItemService {
     public List<ItemDto> searchItem(String text, Integer ownerId, Integer from, Integer size) {
         List<ItemDto> listItem = new ArrayList<>();
         if (text.length() != 0) {
-            listItem = itemRepository.search(text, pagination(from, size)).stream()
-                                     .map(ItemMapper::toItemDto)
-                                     .collect(Collectors.toList());
+            listItem = itemSearcher.search(text, pagination(from, size)).stream()
+                                   .map(ItemMapper::toItemDto)
+                                   .collect(Collectors.toList());
         }
         log.info("Поиск с параметром text = {}", text);
         return listItem;
@@ -126,14 +137,32 @@ public class ItemServiceImpl implements ItemService {
         throw new ValidationException("Отзыв может оставить только пользователь, который брал в аренду эту вещь");
     }
 
-    private ItemDtoInfo toItemDtoInfo(Item item, Integer ownerId) {
-        Booking lastBooking = bookingRepository.findLastBooking(item.getId(), ownerId)
-                                               .orElse(null); //если здесь выкидывать исключение .ofElseThrow то не получается добавлять предметы без брони, сразу выскакивает ошибка
-        Booking nextBooking = bookingRepository.findNextBooking(item.getId(), ownerId)
-                                               .orElse(null); //а так просто присваивается null и как только появляется первая бронь null заменяется на бронь, по тестам это проходит, а через исключение падает много тестов
-        List<CommentDto> commentDtos = commentRepository.findAllByItemId(item.getId()).stream()
-                                                        .map(CommentMapper::toCommentDto)
-                                                        .collect(Collectors.toList());
+    private List<ItemDtoInfo> toItemDtoInfos(List<Item> items, Integer ownerId) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Integer> itemIds = items.stream()
+                                     .map(Item::getId)
+                                     .collect(Collectors.toList());
+        Map<Integer, Booking> lastBookings = byItemId(bookingRepository.findLastBookings(itemIds, ownerId));
+        Map<Integer, Booking> nextBookings = byItemId(bookingRepository.findNextBookings(itemIds, ownerId));
+        Map<Integer, List<CommentDto>> comments = commentRepository.findAllByItemIdIn(itemIds).stream()
+                                                                   .collect(Collectors.groupingBy(
+                                                                           c -> c.getItem().getId(),
+                                                                           Collectors.mapping(CommentMapper::toCommentDto,
+                                                                                   Collectors.toList())));
+        return items.stream()
+                    .map(i -> toItemDtoInfo(i, lastBookings.get(i.getId()), nextBookings.get(i.getId()),
+                            comments.getOrDefault(i.getId(), new ArrayList<>())))
+                    .collect(Collectors.toList());
+    }
+
+    private Map<Integer, Booking> byItemId(List<Booking> bookings) {
+        return bookings.stream()
+                       .collect(Collectors.toMap(b -> b.getItem().getId(), b -> b));
+    }
+
+    private ItemDtoInfo toItemDtoInfo(Item item, Booking lastBooking, Booking nextBooking, List<CommentDto> commentDtos) {
         ItemDtoInfo itemDtoInfo = ItemMapper.toItemDtoInfo(item);
         if (lastBooking != null) {
             itemDtoInfo.setLastBooking(BookingMapper.toBookingDtoForItem(lastBooking));
@@ -156,7 +185,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     private void checkOwnerExistById(Integer ownerId) {
-        if (!(userRepository.existsById(ownerId))) {
+        if (!userIdRegistry.exists(ownerId)) {
             throw new NotFoundException(String.format("Пользователь c id = %s не найден", ownerId));
         }
     }
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@RequiredArgsConstructor
+public class SqlStatementMetricsInterceptor implements HandlerInterceptor {
+    public static final String METRIC = "shareit.sql.statements";
+    private final SqlStatementCounter counter;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        counter.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC)
+                           .description("SQL statements executed per request")
+                           .tag("method", request.getMethod())
+                           .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                           .tag("status", String.valueOf(response.getStatus()))
+                           .publishPercentileHistogram()
+                           .register(meterRegistry)
+                           .record(counter.get());
+        counter.clear();
+    }
+}
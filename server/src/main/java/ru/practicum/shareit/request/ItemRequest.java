@@ -1,12 +1,15 @@
 package ru.practicum.shareit.request;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "request")
 @Table(name = "requests", schema = "public")
 @Getter
 @Setter
@@ -19,8 +22,9 @@ public class ItemRequest {
     private Integer id;
     @Column(name = "description", nullable = false)
     private String description;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requester_id", nullable = false)
+    @ToString.Exclude
     private User requester;
     @Column(name = "created", nullable = false)
     private LocalDateTime created;
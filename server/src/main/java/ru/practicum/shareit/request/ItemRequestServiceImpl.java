@@ -10,10 +10,13 @@ import ru.practicum.shareit.item.ItemDto;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdRegistry;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,13 +25,14 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final UserIdRegistry userIdRegistry;
 
 
     @Override
     @Transactional
     public ItemRequestDto create(Integer userId, ItemRequestDto itemRequestDto) {
-        User requester = userRepository.findById(userId).orElseThrow(
-                () -> new NotFoundException(String.format("Пользователь с id = %s не найден", userId)));
+        checkUserExistById(userId);
+        User requester = userRepository.getReferenceById(userId);
         ItemRequest itemRequest = ItemRequestMapper.toItemRequest(itemRequestDto, requester, LocalDateTime.now());
         return ItemRequestMapper.toItemRequestDto(itemRequestRepository.save(itemRequest));
     }
@@ -36,18 +40,15 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public List<ItemRequestResponse> getAll(Integer userId) {
         checkUserExistById(userId);
-        return itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(userId).stream()
-                                    .map(r -> ItemRequestMapper.toItemRequestDtoOut(r, getItems(r.getId())))
-                                    .collect(Collectors.toList());
+        return toItemRequestResponses(itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(userId));
     }
 
     @Override
     public List<ItemRequestResponse> getAllByOtherUsers(Integer userId, Integer from, Integer size) {
         checkUserExistById(userId);
         int page = from / size;
-        return itemRequestRepository.findAllByRequesterIdNot(userId, PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "created"))).stream()
-                                    .map(r -> ItemRequestMapper.toItemRequestDtoOut(r, getItems(r.getId())))
-                                    .collect(Collectors.toList());
+        return toItemRequestResponses(itemRequestRepository.findAllByRequesterIdNot(userId,
+                PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "created"))));
     }
 
     @Override
@@ -55,17 +56,29 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         checkUserExistById(userId);
         ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElseThrow(
                 () -> new NotFoundException(String.format("Запрос с id = %s пользователя с id = %s не найден", requestId, userId)));
-        return ItemRequestMapper.toItemRequestDtoOut(itemRequest, getItems(requestId));
+        return toItemRequestResponses(List.of(itemRequest)).get(0);
     }
 
-    private List<ItemDto> getItems(Integer id) {
-        return itemRepository.findItemByItemRequestIdOrderByIdDesc(id).stream()
-                             .map(ItemMapper::toItemDto)
-                             .collect(Collectors.toList());
+    private List<ItemRequestResponse> toItemRequestResponses(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Integer> requestIds = itemRequests.stream()
+                                               .map(ItemRequest::getId)
+                                               .collect(Collectors.toList());
+        Map<Integer, List<ItemDto>> items = itemRepository.findAllByItemRequestIdInOrderByIdDesc(requestIds).stream()
+                                                          .collect(Collectors.groupingBy(
+                                                                  i -> i.getItemRequest().getId(),
+                                                                  Collectors.mapping(ItemMapper::toItemDto,
+                                                                          Collectors.toList())));
+        return itemRequests.stream()
+                           .map(r -> ItemRequestMapper.toItemRequestDtoOut(r,
+                                   items.getOrDefault(r.getId(), new ArrayList<>())))
+                           .collect(Collectors.toList());
     }
 
     private void checkUserExistById(Integer userId) {
-        if (!(userRepository.existsById(userId))) {
+        if (!userIdRegistry.exists(userId)) {
             throw new NotFoundException(String.format("Пользователь c id = %s не найден", userId));
         }
     }
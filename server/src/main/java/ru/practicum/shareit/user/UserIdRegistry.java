@@ -0,0 +1,93 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.transaction.AfterCommit;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserIdRegistry {
+    private final UserRepository userRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BitSet present = new BitSet();
+    private volatile boolean warmedUp;
+    private long removals;
+
+    public boolean exists(Integer userId) {
+        if (userId == null || userId < 0) {
+            return false;
+        }
+        warmUp();
+        long seenRemovals;
+        lock.readLock().lock();
+        try {
+            if (present.get(userId)) {
+                return true;
+            }
+            seenRemovals = removals;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!userRepository.existsById(userId)) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            if (removals == seenRemovals) {
+                present.set(userId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    public void add(Integer userId) {
+        AfterCommit.run(() -> {
+            warmUp();
+            lock.writeLock().lock();
+            try {
+                present.set(userId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Integer userId) {
+        AfterCommit.run(() -> {
+            warmUp();
+            lock.writeLock().lock();
+            try {
+                present.clear(userId);
+                removals++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void warmUp() {
+        if (warmedUp) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!warmedUp) {
+                List<Integer> ids = userRepository.findAllIds();
+                ids.forEach(present::set);
+                warmedUp = true;
+                log.info("Загружены id пользователей: {}", ids.size());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
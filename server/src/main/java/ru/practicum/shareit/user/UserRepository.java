@@ -1,9 +1,13 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
-
+    @Query("select u.id from User u")
+    List<Integer> findAllIds();
 }
\ No newline at end of file
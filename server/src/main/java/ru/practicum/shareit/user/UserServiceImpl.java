@@ -4,7 +4,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingAvailabilityIndex;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemSearcher;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -15,6 +18,10 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ItemSearcher itemSearcher;
+    private final UserIdRegistry userIdRegistry;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final BookingAvailabilityIndex bookingAvailabilityIndex;
 
     @Override
     public List<UserDto> getAllUsers() {
@@ -35,6 +42,7 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public UserDto addUser(UserDto userDto) {
         User user = userRepository.save(UserMapper.toUserDto(userDto));
+        userIdRegistry.add(user.getId());
         log.info("Пользователь с id = {} создан", user.getId());
         return UserMapper.toUser(user);
     }
@@ -58,7 +66,11 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void removeUser(Integer userId) {
         getUserById(userId);
+        bookingAvailabilityIndex.onUserRemoved(userId);
         userRepository.deleteById(userId);
+        itemSearcher.onOwnerRemoved(userId);
+        userIdRegistry.remove(userId);
+        entityCacheEvictor.onUserRemoved(userId);
         log.info("Пользователь с id = {} удален", userId);
     }
 }
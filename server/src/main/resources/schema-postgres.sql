@@ -0,0 +1,48 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_waiting ON bookings (booker_id, start_date DESC)
+    WHERE status = 'WAITING';
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_rejected ON bookings (booker_id, start_date DESC)
+    WHERE status = 'REJECTED';
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_approved ON bookings (booker_id, end_date, start_date DESC)
+    WHERE status = 'APPROVED';
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_waiting ON bookings (item_id, start_date DESC)
+    WHERE status = 'WAITING';
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_rejected ON bookings (item_id, start_date DESC)
+    WHERE status = 'REJECTED';
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_approved ON bookings (item_id, end_date, start_date DESC)
+    WHERE status = 'APPROVED';
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO '
+DECLARE
+    approved  RECORD;
+    last_item INTEGER;
+    last_end  TIMESTAMP WITH TIME ZONE;
+    rejected  INTEGER := 0;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''bookings_approved_no_overlap'') THEN
+        LOCK TABLE bookings IN SHARE ROW EXCLUSIVE MODE;
+        FOR approved IN SELECT id, item_id, start_date, end_date FROM bookings
+                        WHERE status = ''APPROVED'' ORDER BY item_id, start_date, id LOOP
+            IF approved.item_id = last_item AND approved.start_date < last_end THEN
+                UPDATE bookings SET status = ''REJECTED'', version = version + 1 WHERE id = approved.id;
+                rejected := rejected + 1;
+            ELSE
+                last_item := approved.item_id;
+                last_end := approved.end_date;
+            END IF;
+        END LOOP;
+        IF rejected > 0 THEN
+            RAISE WARNING ''Rejected % approved bookings that overlapped an earlier approved booking'', rejected;
+        END IF;
+        ALTER TABLE bookings ADD CONSTRAINT bookings_approved_no_overlap
+            EXCLUDE USING gist (item_id WITH =, tstzrange(start_date, end_date) WITH &&)
+            WHERE (status = ''APPROVED'');
+    END IF;
+END
+';
@@ -22,6 +22,7 @@ CREATE TABLE IF NOT EXISTS items (
     available BOOLEAN                                  NOT NULL,
     owner_id     INTEGER                                  NOT NULL,
     request_id   INTEGER,
+    version      INTEGER DEFAULT 0                        NOT NULL,
     CONSTRAINT pk_item PRIMARY KEY (id),
     FOREIGN KEY (owner_id) REFERENCES users (id) ON DELETE CASCADE,
     FOREIGN KEY (request_id) REFERENCES requests (id) ON DELETE CASCADE
@@ -34,6 +35,7 @@ CREATE TABLE IF NOT EXISTS bookings (
     item_id    INTEGER                                  NOT NULL,
     booker_id  INTEGER                                  NOT NULL,
     status     VARCHAR(50),
+    version    INTEGER DEFAULT 0                        NOT NULL,
     CONSTRAINT pk_booking PRIMARY KEY (id),
     CONSTRAINT status CHECK (status IN ('WAITING', 'APPROVED', 'REJECTED', 'CANCELED')),
     FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
@@ -49,4 +51,22 @@ CREATE TABLE IF NOT EXISTS comments (
     CONSTRAINT pr_comment PRIMARY KEY (id),
     FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
     FOREIGN KEY (author_id) REFERENCES users (id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version INTEGER DEFAULT 0 NOT NULL;
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version INTEGER DEFAULT 0 NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_end ON bookings (item_id, status, end_date DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
@@ -0,0 +1,161 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.Comment;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdRegistry;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Transactional
+class StatementCountTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final Pattern PAGE_COUNT_QUERY = Pattern.compile("^select count\\((?!\\*\\))");
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    UserIdRegistry userIdRegistry;
+    User owner;
+    User booker;
+
+    @BeforeEach
+    void init() {
+        owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+        booker = userRepository.save(new User(null, "booker", "booker@mail.ru"));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 20; i++) {
+            Item item = itemRepository.save(new Item(null, "item" + i, "descr" + i, true, owner.getId(), null));
+            bookingRepository.save(new Booking(null, now.minusDays(i + 2L), now.minusDays(i + 1L), item, booker,
+                    BookingStatus.APPROVED));
+            bookingRepository.save(new Booking(null, now.plusDays(i + 1L), now.plusDays(i + 2L), item, booker,
+                    BookingStatus.WAITING));
+        }
+        userIdRegistry.exists(owner.getId());
+        userIdRegistry.exists(booker.getId());
+    }
+
+    @Test
+    void getAllItems() throws Exception {
+        assertStatements(4, get("/items")
+                .header(USER_HEADER, owner.getId())
+                .param("from", "0")
+                .param("size", "10"));
+    }
+
+    @Test
+    void searchItem() throws Exception {
+        assertStatements(1, get("/items/search")
+                .header(USER_HEADER, booker.getId())
+                .param("text", "item")
+                .param("from", "0")
+                .param("size", "10"));
+    }
+
+    @Test
+    void getAllByBookerId() throws Exception {
+        assertStatements(1, get("/bookings")
+                .header(USER_HEADER, booker.getId())
+                .param("state", "ALL")
+                .param("from", "0")
+                .param("size", "10"));
+    }
+
+    @Test
+    void getItemById() throws Exception {
+        Item item = itemRepository.findAllByOwnerIdOrderByIdAsc(owner.getId(), Pageable.unpaged()).get(0);
+        bookingRepository.save(new Booking(null, LocalDateTime.now().minusDays(5), LocalDateTime.now().minusDays(4),
+                item, booker, BookingStatus.APPROVED));
+        commentRepository.save(new Comment(null, "comment", item, booker, LocalDateTime.now()));
+
+        assertStatements(4, get("/items/{itemId}", item.getId())
+                .header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    void getBookingById() throws Exception {
+        Booking booking = bookingRepository.findAllByBookerId(booker.getId()).get(0);
+
+        assertStatements(1, get("/bookings/{bookingId}", booking.getId())
+                .header(USER_HEADER, booker.getId()));
+    }
+
+    @Test
+    void getAllByOwnerId() throws Exception {
+        assertStatements(1, get("/bookings/owner")
+                .header(USER_HEADER, owner.getId())
+                .param("state", "WAITING")
+                .param("from", "0")
+                .param("size", "10"));
+    }
+
+    @Test
+    void getAllByOtherUsers() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            ItemRequest itemRequest = itemRequestRepository.save(new ItemRequest(null, "request" + i, booker,
+                    LocalDateTime.now()));
+            itemRepository.save(new Item(null, "answer" + i, "descr", true, owner.getId(), itemRequest));
+            itemRepository.save(new Item(null, "other answer" + i, "descr", true, owner.getId(), itemRequest));
+        }
+
+        assertStatements(2, get("/requests/all")
+                .header(USER_HEADER, owner.getId())
+                .param("from", "0")
+                .param("size", "10"));
+    }
+
+    private void assertStatements(long expected, RequestBuilder request) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(request).andExpect(status().isOk());
+
+        assertTrue(Arrays.stream(statistics.getQueries()).noneMatch(query -> PAGE_COUNT_QUERY.matcher(query).find()),
+                Arrays.toString(statistics.getQueries()));
+        assertEquals(expected, statistics.getPrepareStatementCount(), Arrays.toString(statistics.getQueries()));
+    }
+}
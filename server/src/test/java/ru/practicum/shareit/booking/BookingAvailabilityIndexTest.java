@@ -0,0 +1,98 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BookingAvailabilityIndexTest {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 10, 0);
+    private BookingRepository bookingRepository;
+    private BookingAvailabilityIndex index;
+    private Item item;
+    private User booker;
+
+    @BeforeEach
+    void init() {
+        bookingRepository = mock(BookingRepository.class);
+        index = new BookingAvailabilityIndex(bookingRepository);
+        item = new Item(1, "item", "descr", true, 2, null);
+        booker = new User(1, "booker", "booker@mail.ru");
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfter(eq(item.getId()), any(), any()))
+                .thenReturn(List.of(new Booking(1, START, START.plusHours(2), item, booker, BookingStatus.APPROVED)));
+    }
+
+    @Test
+    void warmsItemOnceOnFirstQuery() {
+        assertFalse(index.isFree(item.getId(), START.plusHours(1), START.plusHours(3)));
+        assertTrue(index.isFree(item.getId(), START.plusHours(2), START.plusHours(3)));
+        assertEquals(START.plusHours(2), index.nextFree(item.getId(), START, Duration.ofHours(1)));
+
+        verify(bookingRepository, times(1)).findAllByItemIdAndStatusInAndEndAfter(eq(item.getId()), any(), any());
+    }
+
+    @Test
+    void reflectsSavedBookings() {
+        Booking waiting = new Booking(2, START.plusHours(2), START.plusHours(4), item, booker, BookingStatus.WAITING);
+        index.onBookingSaved(waiting);
+        assertEquals(START.plusHours(4), index.nextFree(item.getId(), START, Duration.ofHours(1)));
+
+        waiting.setStatus(BookingStatus.REJECTED);
+        index.onBookingSaved(waiting);
+        assertEquals(START.plusHours(2), index.nextFree(item.getId(), START, Duration.ofHours(1)));
+    }
+
+    @Test
+    void removedItemIsReloaded() {
+        assertFalse(index.isFree(item.getId(), START, START.plusHours(1)));
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfter(eq(item.getId()), any(), any()))
+                .thenReturn(List.of());
+
+        index.onItemRemoved(item.getId());
+
+        assertTrue(index.isFree(item.getId(), START, START.plusHours(1)));
+        verify(bookingRepository, times(2)).findAllByItemIdAndStatusInAndEndAfter(eq(item.getId()), any(), any());
+    }
+
+    @Test
+    void removedUserDropsOnlyAffectedItems() {
+        Item other = new Item(2, "other", "descr", true, 3, null);
+        assertFalse(index.isFree(item.getId(), START, START.plusHours(1)));
+        assertTrue(index.isFree(other.getId(), START, START.plusHours(1)));
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfter(eq(item.getId()), any(), any()))
+                .thenReturn(List.of());
+        when(bookingRepository.findItemIdsByParticipantAndStatusInAndEndAfter(eq(booker.getId()), any(), any()))
+                .thenReturn(Set.of(item.getId()));
+
+        index.onUserRemoved(booker.getId());
+
+        assertTrue(index.isFree(item.getId(), START, START.plusHours(1)));
+        assertTrue(index.isFree(other.getId(), START, START.plusHours(1)));
+        verify(bookingRepository, times(2)).findAllByItemIdAndStatusInAndEndAfter(eq(item.getId()), any(), any());
+        verify(bookingRepository, times(1)).findAllByItemIdAndStatusInAndEndAfter(eq(other.getId()), any(), any());
+    }
+
+    @Test
+    void endedBookingsArePruned() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking ended = new Booking(3, now.minusHours(3), now.minusHours(1), item, booker, BookingStatus.APPROVED);
+        index.onBookingSaved(ended);
+        assertTrue(index.isFree(item.getId(), now.minusHours(2), now.minusHours(1)));
+
+        index.onBookingSaved(new Booking(4, START.plusDays(1), START.plusDays(2), item, booker, BookingStatus.WAITING));
+        assertFalse(index.isFree(item.getId(), START, START.plusHours(1)));
+        assertFalse(index.isFree(item.getId(), START.plusDays(1), START.plusDays(2)));
+    }
+}
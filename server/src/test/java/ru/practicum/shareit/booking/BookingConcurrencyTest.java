@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+class BookingConcurrencyTest {
+    private static final int THREADS = 8;
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    UserService userService;
+    User owner;
+    User booker;
+    Item item;
+
+    @BeforeEach
+    void init() {
+        owner = userRepository.save(new User(null, "concurrent owner", "concurrent.owner@mail.ru"));
+        booker = userRepository.save(new User(null, "concurrent booker", "concurrent.booker@mail.ru"));
+        item = itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, owner.getId(), null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userService.removeUser(owner.getId());
+        userService.removeUser(booker.getId());
+    }
+
+    @Test
+    void onlyOneConcurrentConfirmationWins() throws Exception {
+        for (int round = 0; round < 10; round++) {
+            Booking booking = bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(round + 1L),
+                    LocalDateTime.now().plusDays(round + 1L).plusHours(1), item, booker, BookingStatus.WAITING));
+            AtomicInteger succeeded = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                boolean approved = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        bookingService.confirmation(booking.getId(), owner.getId(), approved);
+                        succeeded.incrementAndGet();
+                    } catch (ConflictException | ValidationException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+
+            assertEquals(1, succeeded.get());
+            assertEquals(THREADS - 1, rejected.get());
+            Booking confirmed = bookingRepository.findById(booking.getId()).orElseThrow();
+            assertEquals(1, confirmed.getVersion());
+        }
+    }
+
+    @Test
+    void staleItemUpdateFails() {
+        Item first = itemRepository.findById(item.getId()).orElseThrow();
+        Item second = itemRepository.findById(item.getId()).orElseThrow();
+        first.setName("Перфоратор");
+        itemRepository.save(first);
+
+        second.setName("Шуруповерт");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> itemRepository.save(second));
+        assertEquals("Перфоратор", itemRepository.findById(item.getId()).orElseThrow().getName());
+    }
+}
@@ -0,0 +1,202 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("postgres")
+@SpringBootTest(properties = "spring.sql.init.platform=postgres")
+class BookingConfirmationConcurrencyTest {
+    private static final int THREADS = 16;
+
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    User owner;
+    User booker;
+    LocalDateTime start;
+
+    @BeforeEach
+    void init() {
+        String suffix = UUID.randomUUID().toString();
+        owner = userRepository.save(new User(null, "owner", "owner-" + suffix + "@mail.ru"));
+        booker = userRepository.save(new User(null, "booker", "booker-" + suffix + "@mail.ru"));
+        start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteById(owner.getId());
+        userRepository.deleteById(booker.getId());
+    }
+
+    @Test
+    void concurrentApprovalsOfOverlappingBookingsApproveOnlyOne() throws Exception {
+        Item item = itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, owner.getId(), null));
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < THREADS * 2; i++) {
+            LocalDateTime bookingStart = start.plusMinutes(i);
+            bookings.add(bookingRepository.save(new Booking(null, bookingStart, bookingStart.plusHours(2), item, booker,
+                    BookingStatus.WAITING)));
+        }
+        AtomicInteger conflicts = new AtomicInteger();
+
+        List<Boolean> approved = runConcurrently(bookings, booking -> () -> {
+            try {
+                bookingService.confirmation(booking.getId(), owner.getId(), true);
+                return true;
+            } catch (ConflictException e) {
+                conflicts.incrementAndGet();
+                return false;
+            }
+        });
+
+        assertEquals(1, approved.stream().filter(a -> a).count());
+        assertEquals(bookings.size() - 1, conflicts.get());
+        assertEquals(1, bookingRepository.findAllByItemIdAndStatusIn(item.getId(), List.of(BookingStatus.APPROVED))
+                                         .size());
+    }
+
+    @Test
+    void concurrentApprovalsOfDisjointBookingsAreNotLost() throws Exception {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Item item = itemRepository.save(new Item(null, "Пила " + i, "Ножовка", true, owner.getId(), null));
+            for (int j = 0; j < 20; j++) {
+                LocalDateTime bookingStart = start.plusDays(j);
+                bookings.add(bookingRepository.save(new Booking(null, bookingStart, bookingStart.plusHours(2), item,
+                        booker, BookingStatus.WAITING)));
+            }
+        }
+
+        List<Boolean> approved = runConcurrently(bookings, booking -> () -> {
+            bookingService.confirmation(booking.getId(), owner.getId(), true);
+            return true;
+        });
+
+        assertEquals(bookings.size(), approved.size());
+        for (Booking booking : bookings) {
+            Booking saved = bookingRepository.findById(booking.getId()).orElseThrow();
+            assertEquals(BookingStatus.APPROVED, saved.getStatus());
+            assertEquals(booking.getVersion() + 1, saved.getVersion());
+        }
+    }
+
+    @Test
+    void concurrentBatchApprovalsOfOverlappingBookingsConfirmOnlyOne() throws Exception {
+        Item first = itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, owner.getId(), null));
+        Item second = itemRepository.save(new Item(null, "Пила", "Ножовка", true, owner.getId(), null));
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            LocalDateTime bookingStart = start.plusMinutes(i);
+            bookings.add(bookingRepository.save(new Booking(null, bookingStart, bookingStart.plusHours(2),
+                    i % 2 == 0 ? first : second, booker, BookingStatus.WAITING)));
+        }
+
+        AtomicInteger conflicts = new AtomicInteger();
+
+        List<List<BookingConfirmationDto>> results = runConcurrently(bookings, booking -> () -> {
+            int from = bookings.indexOf(booking);
+            List<Integer> ids = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                ids.add(bookings.get((from + i) % bookings.size()).getId());
+            }
+            try {
+                return bookingService.confirmAll(ids, owner.getId(), true);
+            } catch (ConflictException e) {
+                conflicts.incrementAndGet();
+                return List.of();
+            }
+        });
+
+        long confirmed = results.stream()
+                                .flatMap(List::stream)
+                                .filter(r -> r.getResult() == ConfirmationResult.CONFIRMED)
+                                .count();
+        assertTrue(conflicts.get() < bookings.size());
+        assertEquals(2, confirmed);
+        assertEquals(1, bookingRepository.findAllByItemIdAndStatusIn(first.getId(), List.of(BookingStatus.APPROVED))
+                                         .size());
+        assertEquals(1, bookingRepository.findAllByItemIdAndStatusIn(second.getId(), List.of(BookingStatus.APPROVED))
+                                         .size());
+    }
+
+    @Test
+    void lockedBatchDoesNotBlockItemUpdates() throws Exception {
+        Item item = itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, owner.getId(), null));
+        Booking booking = bookingRepository.save(new Booking(null, start, start.plusHours(2), item, booker,
+                BookingStatus.WAITING));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                bookingRepository.lockAllWithItemByIdIn(List.of(booking.getId()));
+                Future<Item> update = executor.submit(() -> {
+                    item.setDescription("Дрель с ударом");
+                    return itemRepository.save(item);
+                });
+                assertDoesNotThrow(() -> update.get(5, TimeUnit.SECONDS));
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private <T> List<T> runConcurrently(List<Booking> bookings, Function<Booking, Callable<T>> task)
+            throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (Booking booking : bookings) {
+                Callable<T> callable = task.apply(booking);
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    return callable.call();
+                }));
+            }
+            startGate.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -7,6 +7,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.Item;
@@ -20,6 +23,7 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -48,6 +52,22 @@ class BookingControllerTest {
         bookingDtoIn = new BookingDtoIn(bookingDto.getItem().getId(), bookingDto.getStart(), bookingDto.getEnd());
     }
 
+    @Test
+    void getAvailability() throws Exception {
+        AvailabilityDto availabilityDto = new AvailabilityDto(item.getId(), LocalDateTime.of(2030, 1, 1, 10, 0),
+                LocalDateTime.of(2030, 1, 1, 12, 0), false, LocalDateTime.of(2030, 1, 1, 14, 0));
+        when(bookingService.getAvailability(item.getId(), availabilityDto.getStart(), availabilityDto.getEnd()))
+                .thenReturn(availabilityDto);
+
+        mockMvc.perform(get("/bookings/availability")
+                       .param("itemId", "1")
+                       .param("start", "2030-01-01T10:00:00")
+                       .param("end", "2030-01-01T12:00:00"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.available", is(false)))
+               .andExpect(jsonPath("$.nextFreeStart", is("2030-01-01T14:00:00")));
+    }
+
     @Test
     void getBookingById() throws Exception {
         when(bookingService.getBookingById(anyInt(), anyInt()))
@@ -117,6 +137,48 @@ class BookingControllerTest {
                 .getAllByOwnerId(anyInt(), anyString(), anyInt(), anyInt());
     }
 
+    @Test
+    void getAllByBookerIdWithCursor() throws Exception {
+        when(bookingService.getAllByBookerIdAfterCursor(anyInt(), anyString(), anyString(), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(bookingDto), PageRequest.of(0, 1), true));
+
+        mockMvc.perform(get("/bookings")
+                       .header("X-Sharer-User-Id", booker.getId())
+                       .param("state", "ALL")
+                       .param("size", "1")
+                       .param("cursor", "")
+                       .accept(MediaType.APPLICATION_JSON))
+               .andExpect(status().isOk())
+               .andExpect(header().string("X-Next-Cursor", BookingCursor.of(bookingDto).encode()))
+               .andExpect(jsonPath("$.length()").value(1))
+               .andExpect(jsonPath("$[0].id", is(bookingDto.getId()), Integer.class));
+
+        verify(bookingService, times(1))
+                .getAllByBookerIdAfterCursor(booker.getId(), "ALL", "", 1);
+        verify(bookingService, never())
+                .getAllByBookerId(anyInt(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getAllByOwnerIdWithCursorLastPage() throws Exception {
+        String cursor = BookingCursor.of(bookingDto).encode();
+        when(bookingService.getAllByOwnerIdAfterCursor(anyInt(), anyString(), anyString(), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(bookingDto), PageRequest.of(0, 5), false));
+
+        mockMvc.perform(get("/bookings/owner")
+                       .header("X-Sharer-User-Id", owner.getId())
+                       .param("state", "ALL")
+                       .param("size", "5")
+                       .param("cursor", cursor)
+                       .accept(MediaType.APPLICATION_JSON))
+               .andExpect(status().isOk())
+               .andExpect(header().doesNotExist("X-Next-Cursor"))
+               .andExpect(jsonPath("$.length()").value(1));
+
+        verify(bookingService, times(1))
+                .getAllByOwnerIdAfterCursor(owner.getId(), "ALL", cursor, 5);
+    }
+
     @Test
     void updateBooking() throws Exception {
         when(bookingService.updateBooking(any(BookingDtoIn.class), anyInt()))
@@ -158,4 +220,41 @@ class BookingControllerTest {
         verify(bookingService, times(1))
                 .confirmation(anyInt(), anyInt(), anyBoolean());
     }
+
+    @Test
+    void confirmAll() throws Exception {
+        when(bookingService.confirmAll(anyList(), anyInt(), anyBoolean()))
+                .thenReturn(List.of(new BookingConfirmationDto(1, ConfirmationResult.CONFIRMED, BookingStatus.APPROVED),
+                        new BookingConfirmationDto(2, ConfirmationResult.NOT_FOUND, null)));
+
+        mockMvc.perform(patch("/bookings/batch")
+                       .header("X-Sharer-User-Id", "1")
+                       .content(mapper.writeValueAsString(List.of(1, 2)))
+                       .characterEncoding(StandardCharsets.UTF_8)
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .accept(MediaType.APPLICATION_JSON)
+                       .param("approved", "true"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].bookingId", is(1)))
+               .andExpect(jsonPath("$[0].result", is("CONFIRMED")))
+               .andExpect(jsonPath("$[0].status", is("APPROVED")))
+               .andExpect(jsonPath("$[1].result", is("NOT_FOUND")));
+
+        verify(bookingService, times(1))
+                .confirmAll(List.of(1, 2), 1, true);
+    }
+
+    @Test
+    void confirmAllLockFailureIsConflict() throws Exception {
+        when(bookingService.confirmAll(anyList(), anyInt(), anyBoolean()))
+                .thenThrow(new CannotAcquireLockException("deadlock detected"));
+
+        mockMvc.perform(patch("/bookings/batch")
+                       .header("X-Sharer-User-Id", "1")
+                       .content(mapper.writeValueAsString(List.of(1, 2)))
+                       .characterEncoding(StandardCharsets.UTF_8)
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .param("approved", "true"))
+               .andExpect(status().isConflict());
+    }
 }
@@ -0,0 +1,166 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.metrics.SqlStatementCounter;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+
+@Tag("postgres")
+@SpringBootTest(properties = "spring.sql.init.platform=postgres")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingQueryPlanTest {
+    private static final int USERS = 500;
+    private static final int ITEMS = 2_000;
+    private static final int BOOKINGS_PER_ITEM = 50;
+
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @SpyBean
+    SqlStatementCounter sqlStatementCounter;
+    String emailPattern;
+    Integer userId;
+    List<Integer> itemIds;
+    LocalDateTime now;
+
+    @BeforeAll
+    void seed() {
+        String suffix = UUID.randomUUID().toString();
+        emailPattern = "plan-%-" + suffix + "@mail.ru";
+        jdbcTemplate.update("insert into users (name, email) " +
+                "select 'plan ' || g, 'plan-' || g || '-' || ? || '@mail.ru' from generate_series(1, ?) g",
+                suffix, USERS);
+        jdbcTemplate.update("insert into items (name, description, available, owner_id) " +
+                "select 'item ' || g, ?, true, u.id from generate_series(0, ? - 1) g " +
+                "join (select id, row_number() over (order by id) - 1 as rn from users where email like ?) u " +
+                "on u.rn = g % ?", suffix, ITEMS, emailPattern, USERS);
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                "select now() - interval '75 days' + k * interval '3 days', " +
+                "now() - interval '73 days' + k * interval '3 days', i.id, u.id, " +
+                "(array['WAITING', 'APPROVED', 'REJECTED'])[1 + k % 3] " +
+                "from (select id, row_number() over (order by id) - 1 as rn from items where description = ?) i " +
+                "cross join generate_series(0, ? - 1) k " +
+                "join (select id, row_number() over (order by id) - 1 as rn from users where email like ?) u " +
+                "on u.rn = (i.rn * 7 + k) % ?", suffix, BOOKINGS_PER_ITEM, emailPattern, USERS);
+        jdbcTemplate.execute("analyze users");
+        jdbcTemplate.execute("analyze items");
+        jdbcTemplate.execute("analyze bookings");
+        userId = jdbcTemplate.queryForObject("select min(id) from users where email like ?", Integer.class,
+                emailPattern);
+        itemIds = jdbcTemplate.queryForList("select id from items where owner_id = ?", Integer.class, userId);
+        now = LocalDateTime.now();
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("delete from users where email like ?", emailPattern);
+    }
+
+    @BeforeEach
+    void clearStatements() {
+        clearInvocations(sqlStatementCounter);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void bookerQueriesDoNotScanBookings(BookingState state) {
+        bookingRepository.findByBookerIdAndState(userId, state, now, PageRequest.of(0, 10));
+        bookingRepository.findSliceByBookerIdAndState(userId, state, now, new BookingCursor(now, Integer.MAX_VALUE),
+                10);
+
+        assertNoBookingsSeqScan();
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void ownerQueriesDoNotScanBookings(BookingState state) {
+        bookingRepository.findByOwnerIdAndState(userId, state, now, PageRequest.of(0, 10));
+        bookingRepository.findSliceByOwnerIdAndState(userId, state, now, new BookingCursor(now, Integer.MAX_VALUE),
+                10);
+
+        assertNoBookingsSeqScan();
+    }
+
+    @Test
+    void itemBookingQueriesDoNotScanBookings() {
+        bookingRepository.findLastBookings(itemIds, userId);
+        bookingRepository.findNextBookings(itemIds, userId);
+        bookingRepository.findAllByItemIdAndStatusInAndEndAfter(itemIds.get(0),
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), now);
+        bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(itemIds.get(0), BookingStatus.APPROVED,
+                now.plusDays(1), now);
+        bookingRepository.findAllByItemIdInAndStatusAndStartBeforeAndEndAfter(Set.copyOf(itemIds),
+                BookingStatus.APPROVED, now.plusDays(1), now);
+
+        assertNoBookingsSeqScan();
+    }
+
+    private void assertNoBookingsSeqScan() {
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(sqlStatementCounter, atLeastOnce()).inspect(captor.capture());
+        List<String> statements = captor.getAllValues().stream()
+                                        .filter(sql -> sql.contains("bookings"))
+                                        .collect(Collectors.toList());
+        assertFalse(statements.isEmpty());
+        for (String sql : statements) {
+            String plan = explainGenericPlan(sql);
+            assertFalse(plan.contains("Seq Scan on bookings"), sql + "\n" + plan);
+        }
+    }
+
+    private String explainGenericPlan(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                StringBuilder prepared = new StringBuilder();
+                int parameters = 0;
+                for (char c : sql.toCharArray()) {
+                    if (c == '?') {
+                        prepared.append('$').append(++parameters);
+                    } else {
+                        prepared.append(c);
+                    }
+                }
+                statement.execute("set plan_cache_mode = force_generic_plan");
+                statement.execute("prepare plan_check as " + prepared);
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery("explain execute plan_check(" +
+                        String.join(", ", Collections.nCopies(parameters, "null")) + ")")) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                } finally {
+                    statement.execute("deallocate plan_check");
+                    statement.execute("reset plan_cache_mode");
+                }
+                return plan.toString();
+            }
+        });
+    }
+}
@@ -1,31 +1,47 @@
 package ru.practicum.shareit.booking;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class BookingRepositoryTest {
+    @Autowired
+    EntityManager entityManager;
     @Autowired
     BookingRepository bookingRepository;
     @Autowired
     UserRepository userRepository;
     @Autowired
     ItemRepository itemRepository;
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
     User booker;
     User owner;
     Item item;
@@ -58,28 +74,263 @@ class BookingRepositoryTest {
 
     @Test
     void testFindAllByBookerId() {
-        Page<Booking> res = bookingRepository.findByBookerIdOrderByStartDesc(booker.getId(), Pageable.unpaged());
+        List<BookingDto> res = bookingRepository.findByBookerIdAndState(booker.getId(), BookingState.ALL,
+                LocalDateTime.now(), Pageable.unpaged());
 
         assertNotNull(res);
-        assertEquals(3, res.toList().size());
-        assertEquals(booking1.getId(), res.toList().get(1).getId());
-        assertEquals(booking1.getBooker(), res.toList().get(0).getBooker());
+        assertEquals(3, res.size());
+        assertEquals(booking1.getId(), res.get(1).getId());
+        assertEquals(booking1.getBooker(), res.get(0).getBooker());
     }
 
     @Test
-    void findLastBooking() {
-        Optional<Booking> res = bookingRepository.findLastBooking(item.getId(), owner.getId());
+    void findLastBookings() {
+        List<Booking> res = bookingRepository.findLastBookings(List.of(item.getId()), owner.getId());
 
-        assertEquals(lastBooking.getId(), res.get().getId());
-        assertEquals(lastBooking.getStart(), res.get().getStart());
+        assertEquals(1, res.size());
+        assertEquals(lastBooking.getId(), res.get(0).getId());
+        assertEquals(lastBooking.getStart(), res.get(0).getStart());
     }
 
     @Test
-    void findNextBooking() {
-        Optional<Booking> res = bookingRepository.findNextBooking(item.getId(), owner.getId());
+    void findNextBookings() {
+        List<Booking> res = bookingRepository.findNextBookings(List.of(item.getId()), owner.getId());
 
-        assertEquals(nextBooking.getId(), res.get().getId());
-        assertEquals(nextBooking.getEnd(), res.get().getEnd());
+        assertEquals(1, res.size());
+        assertEquals(nextBooking.getId(), res.get(0).getId());
+        assertEquals(nextBooking.getEnd(), res.get(0).getEnd());
+    }
+
+    @Test
+    void findLastAndNextBookingsReturnOneRowPerItem() {
+        Item otherItem = itemRepository.save(new Item(2, "other", "descOther", true, owner.getId(), null));
+        Booking otherLast = bookingRepository.save(new Booking(null, LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1), otherItem, booker, BookingStatus.APPROVED));
+        List<Integer> itemIds = List.of(item.getId(), otherItem.getId());
+
+        List<Booking> last = bookingRepository.findLastBookings(itemIds, owner.getId());
+        List<Booking> next = bookingRepository.findNextBookings(itemIds, owner.getId());
+
+        assertEquals(2, last.size());
+        assertTrue(last.stream().anyMatch(b -> b.getId().equals(otherLast.getId())));
+        assertEquals(1, next.size());
+        assertTrue(bookingRepository.findLastBookings(itemIds, booker.getId()).isEmpty());
+    }
+
+    @Test
+    void findLastAndNextBookingsOnItemWithTenThousandBookings() {
+        List<Booking> history = new ArrayList<>();
+        for (int i = 1; i <= 5_000; i++) {
+            history.add(new Booking(null, LocalDateTime.now().minusDays(i + 1L), LocalDateTime.now().minusDays(i),
+                    item, booker, i % 2 == 0 ? BookingStatus.APPROVED : BookingStatus.REJECTED));
+            history.add(new Booking(null, LocalDateTime.now().plusDays(i + 1L), LocalDateTime.now().plusDays(i + 2L),
+                    item, booker, BookingStatus.APPROVED));
+        }
+        bookingRepository.saveAll(history);
+
+        List<Booking> last = bookingRepository.findLastBookings(List.of(item.getId()), owner.getId());
+        List<Booking> next = bookingRepository.findNextBookings(List.of(item.getId()), owner.getId());
+
+        assertEquals(1, last.size());
+        assertEquals(lastBooking.getId(), last.get(0).getId());
+        assertEquals(1, next.size());
+        assertEquals(nextBooking.getId(), next.get(0).getId());
+    }
+
+    @Test
+    void findByOwnerIdAndStateForEveryState() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking current = bookingRepository.save(new Booking(null, now.minusDays(1), now.plusDays(1), item, booker,
+                BookingStatus.APPROVED));
+        Booking rejected = bookingRepository.save(new Booking(null, now.plusDays(7), now.plusDays(8), item, booker,
+                BookingStatus.REJECTED));
+        Item bookerItem = itemRepository.save(new Item(null, "bookerItem", "descr", true, booker.getId(), null));
+        bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), bookerItem, owner,
+                BookingStatus.WAITING));
+
+        assertEquals(List.of(rejected.getId(), nextBooking.getId(), booking1.getId(), current.getId(),
+                        lastBooking.getId()),
+                ids(bookingRepository.findByOwnerIdAndState(owner.getId(), BookingState.ALL, now, Pageable.unpaged())));
+        assertEquals(List.of(booking1.getId()),
+                ids(bookingRepository.findByOwnerIdAndState(owner.getId(), BookingState.WAITING, now,
+                        Pageable.unpaged())));
+        assertEquals(List.of(rejected.getId()),
+                ids(bookingRepository.findByOwnerIdAndState(owner.getId(), BookingState.REJECTED, now,
+                        Pageable.unpaged())));
+        assertEquals(List.of(lastBooking.getId()),
+                ids(bookingRepository.findByOwnerIdAndState(owner.getId(), BookingState.PAST, now,
+                        Pageable.unpaged())));
+        assertEquals(List.of(rejected.getId(), nextBooking.getId(), booking1.getId()),
+                ids(bookingRepository.findByOwnerIdAndState(owner.getId(), BookingState.FUTURE, now,
+                        Pageable.unpaged())));
+        assertEquals(List.of(current.getId()),
+                ids(bookingRepository.findByOwnerIdAndState(owner.getId(), BookingState.CURRENT, now,
+                        Pageable.unpaged())));
+        assertEquals(List.of(booking1.getId(), current.getId()),
+                ids(bookingRepository.findByOwnerIdAndState(owner.getId(), BookingState.ALL, now,
+                        PageRequest.of(1, 2))));
+        assertEquals(List.of(current.getId()),
+                ids(bookingRepository.findByBookerIdAndState(booker.getId(), BookingState.CURRENT, now,
+                        Pageable.unpaged())));
+    }
+
+    @Test
+    void findSliceByBookerIdWalksAllBookingsWithoutGaps() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10);
+        for (int i = 0; i < 4; i++) {
+            bookingRepository.save(new Booking(null, start, start.plusDays(1), item, booker, BookingStatus.WAITING));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        List<Integer> expected = ids(bookingRepository.findByBookerIdAndState(booker.getId(), BookingState.ALL,
+                LocalDateTime.now(), Pageable.unpaged()));
+
+        List<Integer> walked = new ArrayList<>();
+        BookingCursor cursor = BookingCursor.FIRST;
+        for (int page = 0; page < 4; page++) {
+            Slice<BookingDto> slice = bookingRepository.findSliceByBookerIdAndState(booker.getId(), BookingState.ALL,
+                    LocalDateTime.now(), cursor, 2);
+            slice.forEach(b -> walked.add(b.getId()));
+            BookingDto last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            cursor = BookingCursor.decode(new BookingCursor(last.getStart(), last.getId()).encode());
+            assertEquals(page < 3, slice.hasNext());
+        }
+
+        assertEquals(7, walked.size());
+        assertEquals(expected.size(), walked.size());
+        assertTrue(walked.containsAll(expected));
+    }
+
+    @Test
+    void findByBookerIdProjectsDetachedItemAndRequest() {
+        ItemRequest itemRequest = itemRequestRepository.save(new ItemRequest(null, "нужна дрель", owner,
+                LocalDateTime.now().withNano(0)));
+        Item requestedItem = itemRepository.save(new Item(null, "дрель", "descr", true, booker.getId(), itemRequest));
+        Booking booking = bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(20),
+                LocalDateTime.now().plusDays(21), requestedItem, owner, BookingStatus.WAITING));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingDto> res = bookingRepository.findByBookerIdAndState(owner.getId(), BookingState.ALL,
+                LocalDateTime.now(), Pageable.unpaged());
+
+        assertEquals(1, res.size());
+        BookingDto dto = res.get(0);
+        assertEquals(booking.getId(), dto.getId());
+        assertEquals(BookingStatus.WAITING, dto.getStatus());
+        assertEquals(owner, dto.getBooker());
+        assertEquals(requestedItem.getName(), dto.getItem().getName());
+        assertEquals(booker.getId(), dto.getItem().getOwnerId());
+        assertEquals(itemRequest.getId(), dto.getItem().getItemRequest().getId());
+        assertEquals(itemRequest.getCreated(), dto.getItem().getItemRequest().getCreated());
+        assertEquals(owner, dto.getItem().getItemRequest().getRequester());
+        assertFalse(entityManager.contains(dto.getItem()));
+        assertFalse(entityManager.contains(dto.getBooker()));
+        assertNull(bookingRepository.findByBookerIdAndState(booker.getId(), BookingState.ALL, LocalDateTime.now(),
+                Pageable.unpaged()).get(0).getItem().getItemRequest());
     }
-}
 
+    @Test
+    void existsApprovedOverlap() {
+        Item otherItem = itemRepository.save(new Item(null, "other", "descOther", true, owner.getId(), null));
+        LocalDateTime start = LocalDateTime.now().plusDays(10).withNano(0);
+        LocalDateTime end = start.plusDays(2);
+        bookingRepository.save(new Booking(null, start, end, otherItem, booker, BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, end, end.plusDays(2), otherItem, booker, BookingStatus.WAITING));
+
+        assertTrue(bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(otherItem.getId(),
+                BookingStatus.APPROVED, end.plusHours(1), end.minusHours(1)));
+        assertFalse(bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(otherItem.getId(),
+                BookingStatus.APPROVED, end.plusDays(1), end));
+        assertFalse(bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(otherItem.getId(),
+                BookingStatus.APPROVED, start, start.minusDays(1)));
+    }
+
+    @Test
+    void updateStatusIfWaitingUpdatesOnlyOwnWaitingBookings() {
+        User stranger = userRepository.save(new User(null, "stranger", "stranger@mail.ru"));
+        Item strangerItem = itemRepository.save(new Item(null, "alien", "descAlien", true, stranger.getId(), null));
+        Booking alienBooking = bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), strangerItem, booker, BookingStatus.WAITING));
+
+        int updated = bookingRepository.updateStatusIfWaiting(
+                List.of(booking1.getId(), lastBooking.getId(), alienBooking.getId()), owner.getId(),
+                BookingStatus.REJECTED);
+
+        assertEquals(1, updated);
+        List<Booking> bookings = bookingRepository.lockAllWithItemByIdIn(
+                List.of(booking1.getId(), lastBooking.getId(), alienBooking.getId()));
+        assertEquals(3, bookings.size());
+        for (Booking booking : bookings) {
+            BookingStatus expected = booking.getId().equals(booking1.getId()) ? BookingStatus.REJECTED
+                    : booking.getId().equals(lastBooking.getId()) ? BookingStatus.APPROVED : BookingStatus.WAITING;
+            assertEquals(expected, booking.getStatus());
+        }
+    }
+
+    @Test
+    void findAllByItemIdInAndStatusAndStartBeforeAndEndAfterReturnsOnlyOverlappingApproved() {
+        List<Booking> res = bookingRepository.findAllByItemIdInAndStatusAndStartBeforeAndEndAfter(
+                Set.of(item.getId()), BookingStatus.APPROVED, LocalDateTime.now().plusDays(2), LocalDateTime.now());
+
+        assertEquals(1, res.size());
+        assertEquals(nextBooking.getId(), res.get(0).getId());
+    }
+
+    @Test
+    void findItemIdsByParticipantReturnsItemsWithActiveBookingsOfBookerOrOwner() {
+        User stranger = userRepository.save(new User(3, "stranger", "stranger@mail.ru"));
+        Item other = itemRepository.save(new Item(2, "other", "descOther", true, stranger.getId(), null));
+        bookingRepository.save(new Booking(4, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), other,
+                stranger, BookingStatus.REJECTED));
+        List<BookingStatus> blocking = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+        assertEquals(Set.of(item.getId()), bookingRepository.findItemIdsByParticipantAndStatusInAndEndAfter(
+                booker.getId(), blocking, LocalDateTime.now()));
+        assertEquals(Set.of(item.getId()), bookingRepository.findItemIdsByParticipantAndStatusInAndEndAfter(
+                owner.getId(), blocking, LocalDateTime.now()));
+        assertTrue(bookingRepository.findItemIdsByParticipantAndStatusInAndEndAfter(stranger.getId(), blocking,
+                LocalDateTime.now()).isEmpty());
+    }
+
+    @Test
+    void lockAllWithItemByIdInReturnsBookingsInIdOrder() {
+        List<Booking> bookings = bookingRepository.lockAllWithItemByIdIn(
+                List.of(lastBooking.getId(), booking1.getId(), Integer.MAX_VALUE));
+
+        assertEquals(2, bookings.size());
+        assertTrue(bookings.get(0).getId() < bookings.get(1).getId());
+        assertEquals(owner.getId(), bookings.get(0).getItem().getOwnerId());
+    }
+
+    @Test
+    void statesShareOneQueryPerRoleAndStatus() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        for (int i = 0; i < 2; i++) {
+            for (BookingState state : BookingState.values()) {
+                bookingRepository.findByBookerIdAndState(booker.getId(), state, LocalDateTime.now(),
+                        PageRequest.of(0, 10));
+                bookingRepository.findByOwnerIdAndState(owner.getId(), state, LocalDateTime.now(),
+                        PageRequest.of(0, 10));
+                bookingRepository.findSliceByBookerIdAndState(booker.getId(), state, LocalDateTime.now(),
+                        BookingCursor.FIRST, 10);
+                bookingRepository.findSliceByOwnerIdAndState(owner.getId(), state, LocalDateTime.now(),
+                        BookingCursor.FIRST, 10);
+            }
+        }
+
+        List<String> queries = Arrays.asList(statistics.getQueries());
+        assertEquals(8, queries.size(), queries.toString());
+        assertEquals(2, queries.stream().filter(q -> q.contains("b.status = 'WAITING'")).count());
+        assertEquals(2, queries.stream().filter(q -> q.contains("b.status = 'APPROVED'")).count());
+        assertTrue(queries.stream().noneMatch(q -> q.contains(" in (")), queries.toString());
+    }
+
+    private List<Integer> ids(List<BookingDto> bookings) {
+        return bookings.stream()
+                       .map(BookingDto::getId)
+                       .collect(Collectors.toList());
+    }
+}
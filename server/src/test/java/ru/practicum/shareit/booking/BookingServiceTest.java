@@ -5,19 +5,30 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdRegistry;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @WebMvcTest(BookingService.class)
@@ -30,6 +41,10 @@ class BookingServiceTest {
     UserRepository userRepository;
     @MockBean
     ItemRepository itemRepository;
+    @MockBean
+    UserIdRegistry userIdRegistry;
+    @MockBean
+    BookingAvailabilityIndex bookingAvailabilityIndex;
     Item item;
     User booker;
     User owner;
@@ -39,7 +54,8 @@ class BookingServiceTest {
 
     @BeforeEach
     void init() {
-        bookingService = new BookingServiceImpl(bookingRepository, itemRepository, userRepository);
+        bookingService = new BookingServiceImpl(bookingRepository, itemRepository, userRepository, userIdRegistry,
+                bookingAvailabilityIndex);
         booker = new User(1, "booker", "booker@mail.ru");
         owner = new User(2, "owner", "owner@email.ru");
         item = new Item(1, "item", "descrItem", true, owner.getId(), null);
@@ -84,26 +100,27 @@ class BookingServiceTest {
 
     @Test
     void confirmation() {
-        when(userRepository.findById(anyInt()))
-                .thenReturn(Optional.of(booker));
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
         when(itemRepository.findById(anyInt()))
                 .thenReturn(Optional.of(item));
         when(bookingRepository.findById(anyInt()))
                 .thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any()))
-                .thenReturn(booking);
+        when(bookingRepository.updateStatusIfWaiting(booking.getId(), BookingStatus.APPROVED))
+                .thenReturn(1);
 
         BookingDto res = bookingService.confirmation(booking.getId(), owner.getId(), true);
 
         assertNotNull(res);
         assertEquals(booking.getId(), res.getId());
+        assertEquals(BookingStatus.APPROVED, res.getStatus());
         assertEquals(booking.getItem().getId(), res.getItem().getId());
     }
 
     @Test
     void confirmationNotFoundBooking() {
-        when(userRepository.findById(anyInt()))
-                .thenReturn(Optional.of(booker));
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
         when(itemRepository.findById(anyInt()))
                 .thenReturn(Optional.of(item));
         when(bookingRepository.findById(anyInt()))
@@ -117,8 +134,8 @@ class BookingServiceTest {
     @Test
     void confirmationValidateException() {
         booking.setStatus(BookingStatus.CANCELED);
-        when(userRepository.findById(anyInt()))
-                .thenReturn(Optional.of(booker));
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
         when(itemRepository.findById(anyInt()))
                 .thenReturn(Optional.of(item));
         when(bookingRepository.findById(anyInt()))
@@ -129,11 +146,160 @@ class BookingServiceTest {
         assertEquals("Изменение статуса бронирования недоступно", ex.getMessage());
     }
 
+    @Test
+    void confirmationConflictExceptionOverlap() {
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
+        when(itemRepository.findById(anyInt()))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.findById(anyInt()))
+                .thenReturn(Optional.of(booking));
+        when(bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(anyInt(), any(), any(), any()))
+                .thenReturn(true);
+
+        Exception ex = assertThrows(ConflictException.class, () -> bookingService.confirmation(booking.getId(),
+                owner.getId(), true));
+        assertEquals("Вещь с id = 1 уже забронирована на это время", ex.getMessage());
+        verify(bookingRepository, never()).updateStatusIfWaiting(anyInt(), any());
+    }
+
+    @Test
+    void confirmationConflictExceptionConstraint() {
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
+        when(itemRepository.findById(anyInt()))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.findById(anyInt()))
+                .thenReturn(Optional.of(booking));
+        when(bookingRepository.updateStatusIfWaiting(anyInt(), any()))
+                .thenThrow(new DataIntegrityViolationException("bookings_approved_no_overlap"));
+
+        Exception ex = assertThrows(ConflictException.class, () -> bookingService.confirmation(booking.getId(),
+                owner.getId(), true));
+        assertEquals("Вещь с id = 1 уже забронирована на это время", ex.getMessage());
+    }
+
+    @Test
+    void confirmationConflictExceptionConcurrentUpdate() {
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
+        when(itemRepository.findById(anyInt()))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.findById(anyInt()))
+                .thenReturn(Optional.of(booking));
+        when(bookingRepository.updateStatusIfWaiting(anyInt(), any()))
+                .thenReturn(0);
+
+        Exception ex = assertThrows(ConflictException.class, () -> bookingService.confirmation(booking.getId(),
+                owner.getId(), false));
+        assertEquals("Статус бронирования с id = 1 уже изменен", ex.getMessage());
+        verify(bookingAvailabilityIndex, never()).onBookingSaved(any());
+    }
+
+    @Test
+    void confirmAll() {
+        Booking approved = new Booking(2, booking.getStart(), booking.getEnd(), item, booker, BookingStatus.APPROVED);
+        Item alienItem = new Item(2, "alien", "descAlien", true, booker.getId(), null);
+        Booking alien = new Booking(3, booking.getStart(), booking.getEnd(), alienItem, booker, BookingStatus.WAITING);
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
+        when(bookingRepository.lockAllWithItemByIdIn(List.of(1, 2, 3, 4)))
+                .thenReturn(List.of(booking, approved, alien));
+        when(bookingRepository.updateStatusIfWaiting(List.of(1), owner.getId(), BookingStatus.REJECTED))
+                .thenReturn(1);
+
+        List<BookingConfirmationDto> res = bookingService.confirmAll(List.of(1, 2, 3, 4, 1), owner.getId(), false);
+
+        assertEquals(List.of(
+                new BookingConfirmationDto(1, ConfirmationResult.CONFIRMED, BookingStatus.REJECTED),
+                new BookingConfirmationDto(2, ConfirmationResult.NOT_WAITING, BookingStatus.APPROVED),
+                new BookingConfirmationDto(3, ConfirmationResult.NOT_OWNER, null),
+                new BookingConfirmationDto(4, ConfirmationResult.NOT_FOUND, null)), res);
+        verify(bookingAvailabilityIndex).onBookingSaved(booking);
+    }
+
+    @Test
+    void confirmAllOverlapIsConflictPerBooking() {
+        Booking overlapsApproved = new Booking(2, booking.getEnd(), booking.getEnd().plusDays(1), item, booker,
+                BookingStatus.WAITING);
+        Booking overlapsBatch = new Booking(3, booking.getStart().plusHours(1), booking.getEnd().plusHours(1), item,
+                booker, BookingStatus.WAITING);
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
+        when(bookingRepository.lockAllWithItemByIdIn(List.of(1, 2, 3)))
+                .thenReturn(List.of(booking, overlapsApproved, overlapsBatch));
+        Booking alreadyApproved = new Booking(4, overlapsApproved.getEnd().minusHours(1),
+                overlapsApproved.getEnd().plusHours(1), item, booker, BookingStatus.APPROVED);
+        when(bookingRepository.findAllByItemIdInAndStatusAndStartBeforeAndEndAfter(Set.of(item.getId()),
+                BookingStatus.APPROVED, overlapsApproved.getEnd(), booking.getStart()))
+                .thenReturn(List.of(alreadyApproved));
+        when(bookingRepository.updateStatusIfWaiting(List.of(1), owner.getId(), BookingStatus.APPROVED))
+                .thenReturn(1);
+
+        List<BookingConfirmationDto> res = bookingService.confirmAll(List.of(1, 2, 3), owner.getId(), true);
+
+        assertEquals(List.of(
+                new BookingConfirmationDto(1, ConfirmationResult.CONFIRMED, BookingStatus.APPROVED),
+                new BookingConfirmationDto(2, ConfirmationResult.CONFLICT, BookingStatus.WAITING),
+                new BookingConfirmationDto(3, ConfirmationResult.CONFLICT, BookingStatus.WAITING)), res);
+        verify(bookingAvailabilityIndex).onBookingSaved(booking);
+        verify(bookingAvailabilityIndex, never()).onBookingSaved(overlapsApproved);
+        verify(bookingAvailabilityIndex, never()).onBookingSaved(overlapsBatch);
+        verify(bookingRepository, never()).existsByItemIdAndStatusAndStartBeforeAndEndAfter(anyInt(), any(), any(),
+                any());
+    }
+
+    @Test
+    void confirmAllTooManyBookings() {
+        List<Integer> ids = IntStream.rangeClosed(1, 101).boxed().collect(Collectors.toList());
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
+
+        assertThrows(ValidationException.class, () -> bookingService.confirmAll(ids, owner.getId(), true));
+        verify(bookingRepository, never()).lockAllWithItemByIdIn(anyList());
+    }
+
+    @Test
+    void confirmAllConflictExceptionConstraint() {
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
+        when(bookingRepository.lockAllWithItemByIdIn(List.of(1)))
+                .thenReturn(List.of(booking));
+        when(bookingRepository.updateStatusIfWaiting(anyList(), anyInt(), any()))
+                .thenThrow(new DataIntegrityViolationException("bookings_approved_no_overlap"));
+
+        assertThrows(ConflictException.class, () -> bookingService.confirmAll(List.of(1), owner.getId(), true));
+        verify(bookingAvailabilityIndex, never()).onBookingSaved(any());
+    }
+
+    @Test
+    void confirmAllNotFoundUser() {
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> bookingService.confirmAll(List.of(1), owner.getId(), true));
+        verify(bookingRepository, never()).updateStatusIfWaiting(anyList(), anyInt(), any());
+    }
+
+    @Test
+    void updateBookingConflictException() {
+        when(userRepository.findById(anyInt()))
+                .thenReturn(Optional.of(booker));
+        when(itemRepository.findWithItemRequestById(anyInt()))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(item.getId(), BookingStatus.APPROVED,
+                bookingDtoIn.getEnd(), bookingDtoIn.getStart()))
+                .thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> bookingService.updateBooking(bookingDtoIn, booker.getId()));
+        verify(bookingRepository, never()).save(any());
+    }
+
     @Test
     void updateBooking() {
         when(userRepository.findById(anyInt()))
                 .thenReturn(Optional.of(booker));
-        when(itemRepository.findById(anyInt()))
+        when(itemRepository.findWithItemRequestById(anyInt()))
                 .thenReturn(Optional.of(item));
         when(bookingRepository.save(any()))
                 .thenReturn(booking);
@@ -149,7 +315,7 @@ class BookingServiceTest {
     void updateBookingNotfoundException() {
         when(userRepository.findById(anyInt()))
                 .thenReturn(Optional.empty());
-        when(itemRepository.findById(anyInt()))
+        when(itemRepository.findWithItemRequestById(anyInt()))
                 .thenReturn(Optional.of(item));
         when(bookingRepository.save(any()))
                 .thenReturn(booking);
@@ -163,7 +329,7 @@ class BookingServiceTest {
         item.setOwnerId(booker.getId());
         when(userRepository.findById(anyInt()))
                 .thenReturn(Optional.of(booker));
-        when(itemRepository.findById(anyInt()))
+        when(itemRepository.findWithItemRequestById(anyInt()))
                 .thenReturn(Optional.of(item));
         when(bookingRepository.save(any()))
                 .thenReturn(booking);
@@ -177,7 +343,7 @@ class BookingServiceTest {
         item.setAvailable(false);
         when(userRepository.findById(anyInt()))
                 .thenReturn(Optional.of(booker));
-        when(itemRepository.findById(anyInt()))
+        when(itemRepository.findWithItemRequestById(anyInt()))
                 .thenReturn(Optional.of(item));
         when(bookingRepository.save(any()))
                 .thenReturn(booking);
@@ -192,9 +358,52 @@ class BookingServiceTest {
                 LocalDateTime.now().minusDays(2));
         when(userRepository.findById(anyInt()))
                 .thenReturn(Optional.of(booker));
-        when(itemRepository.findById(anyInt()))
+        when(itemRepository.findWithItemRequestById(anyInt()))
                 .thenReturn(Optional.of(item));
 
         assertThrows(ValidationException.class, () -> bookingService.updateBooking(bookingDtoIn1, booker.getId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAvailabilityFree() {
+        when(itemRepository.existsById(item.getId()))
+                .thenReturn(true);
+        when(bookingAvailabilityIndex.isFree(item.getId(), booking.getStart(), booking.getEnd()))
+                .thenReturn(true);
+
+        AvailabilityDto res = bookingService.getAvailability(item.getId(), booking.getStart(), booking.getEnd());
+
+        assertTrue(res.getAvailable());
+        assertEquals(booking.getStart(), res.getNextFreeStart());
+        verify(bookingAvailabilityIndex, never()).nextFree(anyInt(), any(), any());
+    }
+
+    @Test
+    void getAvailabilityBusy() {
+        when(itemRepository.existsById(item.getId()))
+                .thenReturn(true);
+        when(bookingAvailabilityIndex.nextFree(item.getId(), booking.getStart(),
+                Duration.between(booking.getStart(), booking.getEnd())))
+                .thenReturn(booking.getEnd());
+
+        AvailabilityDto res = bookingService.getAvailability(item.getId(), booking.getStart(), booking.getEnd());
+
+        assertFalse(res.getAvailable());
+        assertEquals(booking.getEnd(), res.getNextFreeStart());
+    }
+
+    @Test
+    void getAvailabilityNotFoundItem() {
+        Exception ex = assertThrows(NotFoundException.class, () -> bookingService.getAvailability(item.getId(),
+                booking.getStart(), booking.getEnd()));
+        assertEquals("Вещь с id = 1 не найдена", ex.getMessage());
+    }
+
+    @Test
+    void getAvailabilityValidationException() {
+        assertThrows(ValidationException.class, () -> bookingService.getAvailability(item.getId(),
+                booking.getEnd(), booking.getStart()));
+        assertThrows(ValidationException.class, () -> bookingService.getAvailability(item.getId(),
+                LocalDateTime.now().minusDays(1), booking.getEnd()));
+    }
+}
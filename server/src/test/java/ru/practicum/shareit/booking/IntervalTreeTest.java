@@ -0,0 +1,95 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalTreeTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void overlapsUsesHalfOpenIntervals() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(1, hours(10), hours(12));
+
+        assertTrue(tree.overlaps(hours(11), hours(13)));
+        assertTrue(tree.overlaps(hours(9), hours(15)));
+        assertFalse(tree.overlaps(hours(12), hours(13)));
+        assertFalse(tree.overlaps(hours(8), hours(10)));
+    }
+
+    @Test
+    void nextFreeSkipsChainedBookings() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(1, hours(10), hours(12));
+        tree.add(2, hours(11), hours(14));
+        tree.add(3, hours(15), hours(16));
+
+        assertEquals(hours(14), tree.nextFree(hours(10), Duration.ofHours(1)));
+        assertEquals(hours(16), tree.nextFree(hours(10), Duration.ofHours(2)));
+        assertEquals(hours(2), tree.nextFree(hours(2), Duration.ofHours(8)));
+
+        tree.remove(2);
+        assertEquals(hours(12), tree.nextFree(hours(10), Duration.ofHours(3)));
+    }
+
+    @Test
+    void removeEndedBeforeDropsOnlyFinishedIntervals() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(1, hours(1), hours(2));
+        tree.add(2, hours(3), hours(5));
+        tree.add(3, hours(6), hours(7));
+
+        assertEquals(1, tree.removeEndedBefore(hours(4)));
+        assertEquals(2, tree.size());
+        assertTrue(tree.overlaps(hours(4), hours(5)));
+        assertFalse(tree.overlaps(hours(1), hours(2)));
+    }
+
+    @Test
+    void matchesBruteForceUnderRandomUpdates() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        Map<Integer, LocalDateTime[]> intervals = new HashMap<>();
+        for (int step = 0; step < 5_000; step++) {
+            int id = random.nextInt(300);
+            int action = random.nextInt(20);
+            if (action == 0) {
+                LocalDateTime cutoff = hours(random.nextInt(2_000));
+                int ended = (int) intervals.values().stream().filter(i -> !i[1].isAfter(cutoff)).count();
+                intervals.values().removeIf(i -> !i[1].isAfter(cutoff));
+                assertEquals(ended, tree.removeEndedBefore(cutoff));
+            } else if (action < 5) {
+                assertEquals(intervals.remove(id) != null, tree.remove(id));
+            } else {
+                LocalDateTime start = hours(random.nextInt(2_000));
+                LocalDateTime end = start.plusHours(1 + random.nextInt(48));
+                tree.add(id, start, end);
+                intervals.put(id, new LocalDateTime[]{start, end});
+            }
+            LocalDateTime start = hours(random.nextInt(2_000));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(24));
+            assertEquals(overlaps(intervals, start, end), tree.overlaps(start, end));
+            LocalDateTime free = tree.nextFree(start, Duration.between(start, end));
+            assertFalse(overlaps(intervals, free, free.plus(Duration.between(start, end))));
+        }
+        assertEquals(intervals.size(), tree.size());
+    }
+
+    private boolean overlaps(Map<Integer, LocalDateTime[]> intervals, LocalDateTime start, LocalDateTime end) {
+        return intervals.values().stream()
+                        .anyMatch(i -> i[0].isBefore(end) && i[1].isAfter(start));
+    }
+
+    private LocalDateTime hours(int hours) {
+        return BASE.plusHours(hours);
+    }
+}
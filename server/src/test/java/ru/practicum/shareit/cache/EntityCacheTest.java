@@ -0,0 +1,81 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+class EntityCacheTest {
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserService userService;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    CacheManager entityCacheManager;
+
+    @Test
+    void cachesEntitiesAndEvictsOnRemoval() {
+        User owner = userRepository.save(new User(null, "cached", "cached@mail.ru"));
+        Item item = itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, owner.getId(), null));
+        Cache cache = entityManagerFactory.getCache();
+        cache.evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        itemRepository.findById(item.getId());
+        itemRepository.findById(item.getId());
+
+        assertEquals(1, statistics.getSecondLevelCacheMissCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertTrue(cache.contains(Item.class, item.getId()));
+
+        item.setName("Перфоратор");
+        itemRepository.save(item);
+        assertEquals("Перфоратор", itemRepository.findById(item.getId()).orElseThrow().getName());
+
+        userService.removeUser(owner.getId());
+
+        assertFalse(cache.contains(Item.class, item.getId()));
+        assertFalse(itemRepository.findById(item.getId()).isPresent());
+        assertFalse(userRepository.findById(owner.getId()).isPresent());
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "item").functionCounter());
+    }
+
+    @Test
+    void cacheManagerIsPrivateToContext() {
+        CacheManager defaultManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                                             .getCacheManager();
+
+        assertNotSame(defaultManager, entityCacheManager);
+        assertNotNull(entityCacheManager.getCache("item"));
+        assertNotSame(defaultManager.getCache("item"), entityCacheManager.getCache("item"));
+    }
+}
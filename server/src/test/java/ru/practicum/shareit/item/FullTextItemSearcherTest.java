@@ -0,0 +1,72 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("postgres")
+@SpringBootTest(properties = {"spring.sql.init.platform=postgres", "shareit.search.mode=fulltext"})
+class FullTextItemSearcherTest {
+    @Autowired
+    ItemSearcher itemSearcher;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    User owner;
+    String word;
+    Item once;
+    Item often;
+
+    @BeforeEach
+    void init() {
+        word = "w" + UUID.randomUUID().toString().replace("-", "");
+        owner = userRepository.save(new User(null, "owner", word + "@mail.ru"));
+        once = itemRepository.save(new Item(null, "Пила", "Ножовка " + word, true, owner.getId(), null));
+        often = itemRepository.save(new Item(null, "Дрель " + word, word + " ударная " + word, true, owner.getId(),
+                null));
+        itemRepository.save(new Item(null, "Дрель " + word, "Сломана", false, owner.getId(), null));
+        itemRepository.save(new Item(null, "Отвертка", "Крестовая", true, owner.getId(), null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void searchUsesFullTextSearcher() {
+        assertEquals(FullTextItemSearcher.class, itemSearcher.getClass());
+    }
+
+    @Test
+    void searchMatchesAvailableItemsByWord() {
+        assertEquals(List.of(often.getId()), ids(itemSearcher.search("дрель " + word, Pageable.unpaged())));
+        assertEquals(List.of(often.getId()), ids(itemSearcher.search(word.toUpperCase() + " УДАРНАЯ",
+                Pageable.unpaged())));
+        assertEquals(List.of(), ids(itemSearcher.search(word.substring(0, 10), Pageable.unpaged())));
+    }
+
+    @Test
+    void searchOrdersByRank() {
+        assertEquals(List.of(often.getId(), once.getId()), ids(itemSearcher.search(word, Pageable.unpaged())));
+        assertEquals(List.of(once.getId()), ids(itemSearcher.search(word, PageRequest.of(1, 1))));
+    }
+
+    private List<Integer> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+class InMemoryItemSearcherTest {
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    @Test
+    void searchMatchesSqlSearch() {
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+        itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, owner.getId(), null));
+        itemRepository.save(new Item(null, "Аккумуляторная дрель", "Дрель + аккумулятор", true, owner.getId(), null));
+        itemRepository.save(new Item(null, "Отвертка", "Аккумуляторная отвертка", true, owner.getId(), null));
+        itemRepository.save(new Item(null, "Клей Момент", "Тюбик суперклея", false, owner.getId(), null));
+        itemRepository.save(new Item(null, "Дрель ударная", "Старая, но работает", false, owner.getId(), null));
+        itemRepository.save(new Item(null, "Ус", "Ёж", true, owner.getId(), null));
+        InMemoryItemSearcher searcher = new InMemoryItemSearcher(itemRepository);
+        searcher.build();
+
+        for (String text : List.of("дрель", "ДРЕЛЬ", "аккУм", "д", "ре", "ус", "ёж", "у", "клей", "отвертка простая",
+                "ая дрель", "xyz", "+ а")) {
+            for (Pageable page : List.of(Pageable.unpaged(), PageRequest.of(0, 1), PageRequest.of(1, 1))) {
+                assertEquals(itemRepository.search(text, page), searcher.search(text, page), text + " " + page);
+            }
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void searchReflectsIncrementalUpdates() {
+        ItemRepository repository = mock(ItemRepository.class);
+        Item drill = new Item(1, "Дрель", "Простая дрель", true, 1, null);
+        when(repository.findAll()).thenReturn(List.of(drill));
+        InMemoryItemSearcher searcher = new InMemoryItemSearcher(repository);
+        searcher.build();
+
+        Item saw = new Item(2, "Пила", "Ножовка", true, 2, null);
+        searcher.onItemSaved(saw);
+        assertEquals(List.of(saw), searcher.search("пила", Pageable.unpaged()));
+
+        Item renamed = new Item(1, "Перфоратор", "Мощный", true, 1, null);
+        searcher.onItemSaved(renamed);
+        assertEquals(List.of(), searcher.search("дрель", Pageable.unpaged()));
+        assertEquals(List.of(renamed), searcher.search("перф", Pageable.unpaged()));
+
+        searcher.onItemSaved(new Item(1, "Перфоратор", "Мощный", false, 1, null));
+        assertEquals(List.of(), searcher.search("перф", Pageable.unpaged()));
+
+        searcher.onItemRemoved(2);
+        assertEquals(List.of(), searcher.search("пила", Pageable.unpaged()));
+
+        searcher.onItemSaved(saw);
+        searcher.onOwnerRemoved(2);
+        assertEquals(List.of(), searcher.search("п", Pageable.unpaged()));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void searchFallsBackToRepositoryUntilBuilt() {
+        ItemRepository repository = mock(ItemRepository.class);
+        Item drill = new Item(1, "Дрель", "Простая дрель", true, 1, null);
+        when(repository.search("дрель", Pageable.unpaged())).thenReturn(List.of(drill));
+        InMemoryItemSearcher searcher = new InMemoryItemSearcher(repository);
+
+        assertEquals(List.of(drill), searcher.search("дрель", Pageable.unpaged()));
+        verify(repository, times(1)).search("дрель", Pageable.unpaged());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void updateDuringBuildIsNotLost() throws InterruptedException {
+        ItemRepository repository = mock(ItemRepository.class);
+        Item drill = new Item(1, "Дрель", "Простая дрель", true, 1, null);
+        Item saw = new Item(2, "Пила", "Ножовка", true, 2, null);
+        InMemoryItemSearcher searcher = new InMemoryItemSearcher(repository);
+        Thread writer = new Thread(() -> searcher.onItemSaved(saw));
+        when(repository.findAll()).thenAnswer(invocation -> {
+            writer.start();
+            while (writer.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+            return List.of(drill);
+        });
+
+        searcher.build();
+        writer.join();
+
+        assertEquals(List.of(drill), searcher.search("дрель", Pageable.unpaged()));
+        assertEquals(List.of(saw), searcher.search("пила", Pageable.unpaged()));
+        verify(repository, never()).search(anyString(), any(Pageable.class));
+    }
+}
@@ -1,23 +1,31 @@
 package ru.practicum.shareit.item;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdRegistry;
 import ru.practicum.shareit.user.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class ItemRepositoryTest {
     @Autowired
     ItemRepository itemRepository;
@@ -25,6 +33,12 @@ class ItemRepositoryTest {
     UserRepository userRepository;
     @Autowired
     ItemRequestRepository itemRequestRepository;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    EntityManager entityManager;
     User user;
     Item item;
     ItemRequest itemRequest;
@@ -38,26 +52,70 @@ class ItemRepositoryTest {
 
     @Test
     void search() {
-        Page<Item> res = itemRepository.search("item", Pageable.unpaged());
+        List<Item> res = itemRepository.search("item", Pageable.unpaged());
 
         assertNotNull(res);
         assertEquals(item, res.stream().findFirst().get());
     }
 
     @Test
-    void findAllByOwnerIdOrderByIdAsc() {
-        Page<Item> res = itemRepository.findAllByOwnerIdOrderByIdAsc(user.getId(), Pageable.unpaged());
+    void searchSkipsUnavailableItemsMatchedByName() {
+        Item unavailable = itemRepository.save(new Item(null, "item unavailable", "descr", false, user.getId(), null));
 
-        assertNotNull(res);
-        assertEquals(1, res.getTotalElements());
+        List<Item> res = itemRepository.search("item", Pageable.unpaged());
+
+        assertEquals(List.of(item), res);
+        assertFalse(res.contains(unavailable));
     }
 
     @Test
-    void findItemByItemRequestId() {
-        List<Item> res = itemRepository.findItemByItemRequestIdOrderByIdDesc(itemRequest.getId());
+    void findAllByOwnerIdOrderByIdAsc() {
+        List<Item> res = itemRepository.findAllByOwnerIdOrderByIdAsc(user.getId(), Pageable.unpaged());
 
         assertNotNull(res);
         assertEquals(1, res.size());
     }
-}
 
+    @Test
+    void findAllByItemRequestIdIn() {
+        ItemRequest otherRequest = itemRequestRepository.save(new ItemRequest(null, "other", user, LocalDateTime.now()));
+        Item other = itemRepository.save(new Item(null, "other", "descr", true, user.getId(), otherRequest));
+        Item second = itemRepository.save(new Item(null, "second", "descr", true, user.getId(), itemRequest));
+
+        List<Item> res = itemRepository.findAllByItemRequestIdInOrderByIdDesc(
+                List.of(itemRequest.getId(), otherRequest.getId()));
+
+        assertEquals(List.of(second, other, item), res);
+    }
+
+    @Test
+    void getAllItemsQueryCountDoesNotDependOnPageSize() {
+        ItemService itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository,
+                commentRepository, itemRequestRepository, new LikeItemSearcher(itemRepository),
+                new UserIdRegistry(userRepository), new BookingAvailabilityIndex(bookingRepository));
+        User booker = userRepository.save(new User(2, "booker", "booker@mail.ru"));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 10; i++) {
+            Item ownerItem = itemRepository.save(new Item(null, "item" + i, "descr", true, user.getId(), null));
+            bookingRepository.save(new Booking(null, now.minusDays(2), now.minusDays(1), ownerItem, booker,
+                    BookingStatus.APPROVED));
+            bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), ownerItem, booker,
+                    BookingStatus.APPROVED));
+            commentRepository.save(new Comment(null, "comment" + i, ownerItem, booker, now));
+        }
+
+        long smallPage = countStatements(() -> itemService.getAllItems(user.getId(), 0, 2));
+        long largePage = countStatements(() -> itemService.getAllItems(user.getId(), 0, 10));
+
+        assertEquals(smallPage, largePage);
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -5,9 +5,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingAvailabilityIndex;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -15,6 +15,7 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdRegistry;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
@@ -23,6 +24,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @WebMvcTest(ItemService.class)
@@ -40,6 +43,12 @@ class ItemServiceTest {
     CommentRepository commentRepository;
     @MockBean
     ItemRequestRepository itemRequestRepository;
+    @MockBean
+    ItemSearcher itemSearcher;
+    @MockBean
+    UserIdRegistry userIdRegistry;
+    @MockBean
+    BookingAvailabilityIndex bookingAvailabilityIndex;
     User user;
     Item item;
     ItemDto itemDto;
@@ -56,7 +65,7 @@ class ItemServiceTest {
         itemDto = new ItemDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
                 item.getItemRequest().getId());
         itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository,
-                itemRequestRepository);
+                itemRequestRepository, itemSearcher, userIdRegistry, bookingAvailabilityIndex);
 
         booking = new Booking(1, LocalDateTime.now().minusDays(5), LocalDateTime.now().minusHours(5), item, user, BookingStatus.APPROVED);
         comment = new Comment(1, "comment", item, user, LocalDateTime.now());
@@ -69,7 +78,7 @@ class ItemServiceTest {
         when(userRepository.findById(anyInt()))
                 .thenReturn(Optional.of(user));
         when(itemRepository.findAllByOwnerIdOrderByIdAsc(anyInt(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(item)));
+                .thenReturn(List.of(item));
 
         List<ItemDtoInfo> res = itemService.getAllItems(user.getId(), 0, 2);
 
@@ -99,8 +108,8 @@ class ItemServiceTest {
 
     @Test
     void addItem() {
-        when(userRepository.findById(anyInt()))
-                .thenReturn(Optional.of(user));
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
         when(itemRepository.save(any()))
                 .thenReturn(item);
         when(itemRequestRepository.findById(anyInt()))
@@ -116,8 +125,8 @@ class ItemServiceTest {
 
     @Test
     void addItemNotFoundUser() {
-        when(userRepository.findById(anyInt()))
-                .thenReturn(Optional.empty());
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(false);
         when(itemRepository.save(any()))
                 .thenReturn(item);
         when(itemRequestRepository.findById(anyInt()))
@@ -129,8 +138,8 @@ class ItemServiceTest {
     @Test
     void addItemRequestNull() {
         item.setItemRequest(null);
-        when(userRepository.findById(anyInt()))
-                .thenReturn(Optional.of(user));
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
         when(itemRepository.save(any()))
                 .thenReturn(item);
         when(itemRequestRepository.findById(anyInt()))
@@ -150,8 +159,8 @@ class ItemServiceTest {
         ItemDto itemDtoUp = new ItemDto(itemUpdate.getId(), itemUpdate.getName(), itemUpdate.getDescription(),
                 itemUpdate.getAvailable(), itemUpdate.getItemRequest().getId());
 
-        when(userRepository.findById(anyInt()))
-                .thenReturn(Optional.of(user));
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
         when(itemRepository.findById(anyInt()))
                 .thenReturn(Optional.of(item));
         when(itemRepository.save(any()))
@@ -169,8 +178,8 @@ class ItemServiceTest {
     void updateItemNullNameDescriptionAvailable() {
         Item itemUpdate = new Item(1, item.getName(), item.getDescription(), item.getAvailable(), itemRequest);
         ItemDto itemDtoUp = new ItemDto(itemUpdate.getId(), null, null, null, itemUpdate.getItemRequest().getId());
-        when(userRepository.findById(anyInt()))
-                .thenReturn(Optional.of(user));
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
         when(itemRepository.findById(anyInt()))
                 .thenReturn(Optional.of(item));
         when(itemRepository.save(any()))
@@ -186,8 +195,8 @@ class ItemServiceTest {
 
     @Test
     void updateItemNotFoundExceptionItem() {
-        when(userRepository.findById(anyInt()))
-                .thenReturn(Optional.of(user));
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
         when(itemRepository.findById(anyInt()))
                 .thenReturn(Optional.empty());
 
@@ -197,8 +206,8 @@ class ItemServiceTest {
     @Test
     void updateItemNotFoundExceptionOwner() {
         item.setOwnerId(2);
-        when(userRepository.findById(anyInt()))
-                .thenReturn(Optional.of(user));
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
         when(itemRepository.findById(anyInt()))
                 .thenReturn(Optional.of(item));
 
@@ -215,12 +224,13 @@ class ItemServiceTest {
         List<Item> items = itemRepository.findAll();
 
         assertEquals(0, items.size());
+        verify(bookingAvailabilityIndex, times(1)).onItemRemoved(itemDto.getId());
     }
 
     @Test
     void searchItem() {
-        when(itemRepository.search(anyString(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(item)));
+        when(itemSearcher.search(anyString(), any(Pageable.class)))
+                .thenReturn(List.of(item));
 
         List<ItemDto> res = itemService.searchItem("item", user.getId(), 0, 2);
 
@@ -230,8 +240,8 @@ class ItemServiceTest {
 
     @Test
     void searchTextLength0() {
-        when(itemRepository.search(anyString(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of()));
+        when(itemSearcher.search(anyString(), any(Pageable.class)))
+                .thenReturn(List.of());
 
         List<ItemDto> res = itemService.searchItem("", user.getId(), 0, 2);
 
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("postgres")
+@SpringBootTest(properties = {"spring.sql.init.platform=postgres", "shareit.search.mode=trigram"})
+class TrigramItemSearcherTest {
+    @Autowired
+    ItemSearcher itemSearcher;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    User owner;
+    String word;
+    Item exact;
+    Item inName;
+    Item inDescription;
+
+    @BeforeEach
+    void init() {
+        word = "w" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+        owner = userRepository.save(new User(null, "owner", word + "@mail.ru"));
+        inDescription = itemRepository.save(new Item(null, "Пила", "Ножовка по дереву, артикул " + word, true,
+                owner.getId(), null));
+        inName = itemRepository.save(new Item(null, "Дрель " + word, "Ударная", true, owner.getId(), null));
+        exact = itemRepository.save(new Item(null, word, "Отвертка", true, owner.getId(), null));
+        itemRepository.save(new Item(null, word, "Сломана", false, owner.getId(), null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void searchUsesTrigramSearcher() {
+        assertEquals(TrigramItemSearcher.class, itemSearcher.getClass());
+    }
+
+    @Test
+    void searchMatchesSubstringsOfAvailableItems() {
+        assertEquals(List.of(inName.getId()), ids(itemSearcher.search("дрель " + word.toUpperCase(),
+                Pageable.unpaged())));
+        assertEquals(List.of(inDescription.getId()), ids(itemSearcher.search("ртикул " + word.substring(0, 6),
+                Pageable.unpaged())));
+        assertEquals(List.of(), ids(itemSearcher.search(word + "x", Pageable.unpaged())));
+    }
+
+    @Test
+    void searchOrdersBySimilarity() {
+        assertEquals(List.of(exact.getId(), inName.getId(), inDescription.getId()),
+                ids(itemSearcher.search(word, Pageable.unpaged())));
+        assertEquals(List.of(inName.getId()), ids(itemSearcher.search(word, PageRequest.of(1, 1))));
+    }
+
+    private List<Integer> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
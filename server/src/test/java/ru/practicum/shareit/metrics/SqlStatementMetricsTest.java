@@ -0,0 +1,66 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManager;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@AutoConfigureMetrics
+@Transactional
+class SqlStatementMetricsTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    void recordsStatementsPerRequest() throws Exception {
+        User user = userRepository.save(new User(null, "user", "user@mail.ru"));
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(get("/users/{userId}", user.getId()))
+               .andExpect(status().isOk());
+
+        DistributionSummary summary = meterRegistry.find(SqlStatementMetricsInterceptor.METRIC)
+                                                   .tag("uri", "/users/{userId}")
+                                                   .tag("method", "GET")
+                                                   .summary();
+        assertNotNull(summary);
+        assertEquals(1, summary.count());
+        assertEquals(1, summary.totalAmount());
+        assertNotNull(meterRegistry.find("spring.data.repository.invocations")
+                                   .tag("repository", "UserRepository")
+                                   .tag("method", "findById")
+                                   .timer());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+               .andExpect(status().isOk())
+               .andExpect(content().string(containsString("shareit_sql_statements_count")))
+               .andExpect(content().string(containsString("http_server_requests_seconds_bucket")));
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdRegistry;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
@@ -30,6 +31,8 @@ class ItemRequestServiceTest {
     UserRepository userRepository;
     @MockBean
     ItemRepository itemRepository;
+    @MockBean
+    UserIdRegistry userIdRegistry;
     User user;
     User user2;
     ItemRequest itemRequest;
@@ -39,7 +42,8 @@ class ItemRequestServiceTest {
 
     @BeforeEach
     void init() {
-        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userRepository, itemRepository);
+        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userRepository, itemRepository,
+                userIdRegistry);
         user = new User(1, "testName", "test@mail.ru");
         user2 = new User(2, "testName2", "test2@mail.ru");
         itemRequest = new ItemRequest(1, "descr", user, LocalDateTime.now());
@@ -51,8 +55,8 @@ class ItemRequestServiceTest {
 
     @Test
     void create() {
-        when(userRepository.findById(anyInt()))
-                .thenReturn(Optional.of(user));
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
         when(itemRequestRepository.save(any()))
                 .thenReturn(itemRequest);
 
@@ -65,8 +69,8 @@ class ItemRequestServiceTest {
 
     @Test
     void createNotFoundException() {
-        when(userRepository.findById(anyInt()))
-                .thenReturn(Optional.empty());
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(false);
         when(itemRequestRepository.save(any()))
                 .thenReturn(itemRequest);
 
@@ -75,8 +79,8 @@ class ItemRequestServiceTest {
 
     @Test
     void getAll() {
-        when(userRepository.findById(any()))
-                .thenReturn(Optional.of(user));
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
         when(itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(anyInt()))
                 .thenReturn(List.of(itemRequest));
 
@@ -88,8 +92,8 @@ class ItemRequestServiceTest {
 
     @Test
     void getAllOtherUser() {
-        when(userRepository.findById(anyInt()))
-                .thenReturn(Optional.of(user));
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
         when(itemRequestRepository.findAllByRequesterIdNot(anyInt(), any(Pageable.class)))
                 .thenReturn(List.of(itemRequest2));
 
@@ -101,8 +105,8 @@ class ItemRequestServiceTest {
 
     @Test
     void getById() {
-        when(userRepository.findById(anyInt()))
-                .thenReturn(Optional.of(user));
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
         when(itemRequestRepository.findById(anyInt()))
                 .thenReturn(Optional.of(itemRequest));
 
@@ -115,8 +119,8 @@ class ItemRequestServiceTest {
 
     @Test
     void getByIdNotFoundException() {
-        when(userRepository.findById(anyInt()))
-                .thenReturn(Optional.of(user));
+        when(userIdRegistry.exists(anyInt()))
+                .thenReturn(true);
         when(itemRequestRepository.findById(anyInt()))
                 .thenReturn(Optional.empty());
 
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.threads;
+
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsConfigTest {
+    @Test
+    void newVirtualThreadPerTaskExecutorFailsBeforeJava21() {
+        assumeTrue(Runtime.version().feature() < 21);
+        Exception ex = assertThrows(IllegalStateException.class,
+                VirtualThreadsConfig::newVirtualThreadPerTaskExecutor);
+        assertTrue(ex.getMessage().contains("Java 21"));
+    }
+
+    @Test
+    void customizerSetsExecutorAndShutsItDown() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Http11NioProtocol protocol = new Http11NioProtocol();
+        VirtualThreadsConfig.VirtualThreadsTomcatCustomizer customizer =
+                new VirtualThreadsConfig.VirtualThreadsTomcatCustomizer(executor);
+
+        customizer.customize(protocol);
+        customizer.destroy();
+
+        assertSame(executor, protocol.getExecutor());
+        assertTrue(executor.isShutdown());
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class UserIdRegistryTest {
+    private UserRepository userRepository;
+    private UserIdRegistry userIdRegistry;
+
+    @BeforeEach
+    void init() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findAllIds())
+                .thenReturn(List.of(1, 2, 3));
+        userIdRegistry = new UserIdRegistry(userRepository);
+    }
+
+    @Test
+    void existsAnswersKnownIdsWithoutDatabase() {
+        assertTrue(userIdRegistry.exists(1));
+        assertTrue(userIdRegistry.exists(3));
+
+        verify(userRepository, times(1)).findAllIds();
+        verify(userRepository, never()).existsById(anyInt());
+    }
+
+    @Test
+    void existsFallsBackToDatabaseOnMiss() {
+        when(userRepository.existsById(4))
+                .thenReturn(true);
+
+        assertTrue(userIdRegistry.exists(4));
+        assertTrue(userIdRegistry.exists(4));
+        assertFalse(userIdRegistry.exists(5));
+        assertFalse(userIdRegistry.exists(-1));
+
+        verify(userRepository, times(1)).existsById(4);
+        verify(userRepository, times(1)).existsById(5);
+    }
+
+    @Test
+    void addAndRemoveUpdateRegistry() {
+        userIdRegistry.add(10);
+        userIdRegistry.remove(2);
+
+        assertTrue(userIdRegistry.exists(10));
+        assertFalse(userIdRegistry.exists(2));
+
+        verify(userRepository, never()).existsById(10);
+        verify(userRepository, times(1)).existsById(2);
+    }
+
+    @Test
+    void removeDuringDatabaseCheckIsNotOverwritten() {
+        when(userRepository.existsById(4))
+                .thenAnswer(invocation -> {
+                    userIdRegistry.remove(4);
+                    return true;
+                })
+                .thenReturn(false);
+
+        assertTrue(userIdRegistry.exists(4));
+        assertFalse(userIdRegistry.exists(4));
+
+        verify(userRepository, times(2)).existsById(4);
+    }
+}
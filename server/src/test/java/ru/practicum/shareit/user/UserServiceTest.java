@@ -5,6 +5,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import ru.practicum.shareit.booking.BookingAvailabilityIndex;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
+import ru.practicum.shareit.item.ItemSearcher;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,6 +22,7 @@ class UserServiceTest {
     @MockBean
     private UserServiceImpl userService;
     private UserRepository userRepository;
+    private BookingAvailabilityIndex bookingAvailabilityIndex;
     private UserDto userDto;
     private User user;
 
@@ -27,7 +31,9 @@ class UserServiceTest {
         userDto = new UserDto(1, "testName", "test@mail.ru");
         user = new User(userDto.getId(), userDto.getName(), userDto.getEmail());
         userRepository = mock(UserRepository.class);
-        userService = new UserServiceImpl(userRepository);
+        bookingAvailabilityIndex = mock(BookingAvailabilityIndex.class);
+        userService = new UserServiceImpl(userRepository, mock(ItemSearcher.class), mock(UserIdRegistry.class),
+                mock(EntityCacheEvictor.class), bookingAvailabilityIndex);
     }
 
     @Test
@@ -102,5 +108,6 @@ class UserServiceTest {
         List<User> users = userRepository.findAll();
 
         assertEquals(0, users.size());
+        verify(bookingAvailabilityIndex, times(1)).onUserRemoved(userDto.getId());
     }
 }